@@ -0,0 +1,165 @@
+package com.iancaffey.steam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Batcher
+ * <p>
+ * An object which collects lookups of single users made within a short window and resolves them with a single Steam WebAPI call.
+ * A batch is sent once the window closes or as soon as it holds the maximum number of users the method accepts,
+ * and the results are handed back to each lookup by user identifier.
+ *
+ * @param <T> the type of value looked up for each user
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class Batcher<T> {
+    private final int maxSize;
+    private final Function<long[], CompletableFuture<T[]>> loader;
+    private final ToLongFunction<T> identifier;
+    private final ScheduledExecutorService scheduler;
+    private volatile long window;
+    private List<Lookup<T>> pending;
+
+    /**
+     * Creates a new batcher with the specified characteristics.
+     *
+     * @param maxSize    the maximum number of users in a single batch
+     * @param window     the time in nanoseconds to wait for more lookups before sending a batch
+     * @param loader     the function which retrieves the values for a batch of users
+     * @param identifier the function which reads the user identifier of a retrieved value
+     * @param scheduler  the scheduler used to close the batch window
+     */
+    Batcher(int maxSize, long window, Function<long[], CompletableFuture<T[]>> loader, ToLongFunction<T> identifier, ScheduledExecutorService scheduler) {
+        if (maxSize < 1 || loader == null || identifier == null || scheduler == null)
+            throw new IllegalArgumentException();
+        this.maxSize = maxSize;
+        this.window = window;
+        this.loader = loader;
+        this.identifier = identifier;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * The time to wait for more lookups before sending a batch.
+     *
+     * @return the batch window in nanoseconds
+     */
+    long getWindow() {
+        return window;
+    }
+
+    /**
+     * Updates the time to wait for more lookups before sending a batch.
+     *
+     * @param window the batch window in nanoseconds, <code>0</code> to send each lookup on its own
+     */
+    void setWindow(long window) {
+        this.window = window;
+    }
+
+    /**
+     * Looks up the value for a single user as part of the next batch.
+     *
+     * @param userId the identifier of the user
+     * @return a future completed with the value for the user, <code>null</code> if the user was not part of the response
+     */
+    CompletableFuture<T> get(long userId) {
+        Lookup<T> lookup = new Lookup<>(userId);
+        if (window <= 0) {
+            send(Collections.singletonList(lookup));
+            return lookup.future;
+        }
+        List<Lookup<T>> full = null;
+        synchronized (this) {
+            if (pending == null) {
+                final List<Lookup<T>> batch = pending = new ArrayList<>();
+                scheduler.schedule(() -> flush(batch), window, TimeUnit.NANOSECONDS);
+            }
+            pending.add(lookup);
+            if (pending.size() >= maxSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null)
+            send(full);
+        return lookup.future;
+    }
+
+    /**
+     * Sends a batch once its window has closed, unless it has already been sent for being full.
+     *
+     * @param batch the batch whose window has closed
+     */
+    private void flush(List<Lookup<T>> batch) {
+        synchronized (this) {
+            if (pending != batch)
+                return;
+            pending = null;
+        }
+        send(batch);
+    }
+
+    /**
+     * Retrieves the values for a batch of lookups and completes each lookup with the value for its user.
+     *
+     * @param batch the lookups to resolve
+     */
+    private void send(final List<Lookup<T>> batch) {
+        long[] userIds = new long[batch.size()];
+        int count = 0;
+        for (Lookup<T> lookup : batch) {
+            boolean duplicate = false;
+            for (int i = 0; i < count && !duplicate; i++)
+                duplicate = userIds[i] == lookup.userId;
+            if (!duplicate)
+                userIds[count++] = lookup.userId;
+        }
+        CompletableFuture<T[]> response;
+        try {
+            response = loader.apply(count == userIds.length ? userIds : Arrays.copyOf(userIds, count));
+        } catch (RuntimeException e) {
+            for (Lookup<T> lookup : batch)
+                lookup.future.completeExceptionally(e);
+            return;
+        }
+        response.whenComplete((values, throwable) -> {
+            Map<Long, T> results = new HashMap<>();
+            if (values != null)
+                for (T value : values)
+                    if (value != null)
+                        results.put(identifier.applyAsLong(value), value);
+            for (Lookup<T> lookup : batch) {
+                if (throwable != null)
+                    lookup.future.completeExceptionally(throwable);
+                else
+                    lookup.future.complete(results.get(lookup.userId));
+            }
+        });
+    }
+
+    /**
+     * Lookup
+     * <p>
+     * A pending lookup of a single user.
+     */
+    private static class Lookup<T> {
+        private final long userId;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Lookup(long userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -1,15 +1,33 @@
 package com.iancaffey.steam;
 
+import com.iancaffey.steam.net.Bulkhead;
+import com.iancaffey.steam.net.Bulkheads;
+import com.iancaffey.steam.net.CircuitBreakers;
+import com.iancaffey.steam.net.ConcurrencyLimiter;
+import com.iancaffey.steam.net.DispatchQueue;
+import com.iancaffey.steam.net.HedgePolicy;
+import com.iancaffey.steam.net.HttpTransport;
+import com.iancaffey.steam.net.MetricsRegistry;
+import com.iancaffey.steam.net.RateLimiter;
+import com.iancaffey.steam.net.Request;
+import com.iancaffey.steam.net.Response;
+import com.iancaffey.steam.net.ResponseCache;
+import com.iancaffey.steam.net.RetryBudget;
+import com.iancaffey.steam.net.RetryPolicy;
+import com.iancaffey.steam.net.Transport;
+import com.iancaffey.steam.util.FlightEvent;
+import com.iancaffey.steam.util.MeteredInputStream;
+import com.iancaffey.steam.util.Streams;
 import com.iancaffey.steam.util.Strings;
-import com.iancaffey.steam.util.Time;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Arrays;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Communicator
@@ -20,10 +38,44 @@ import java.util.concurrent.*;
  * @since 1.0
  */
 public class Communicator implements AutoCloseable {
-    private static final String FORMAT_PATTERN = "&format=%s";
-    private static final String QUERY_FORMAT = "http://api.steampowered.com/%s/%s/%s/?key=%s&%s" + FORMAT_PATTERN;
+    private static final String FORMAT_TOKEN = "&format=";
+    private static final int MAX_RETAINED_URL_LENGTH = 8192;
+    private static final ThreadLocal<StringBuilder> URL_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    //The status of a request whose deadline passed before it could be sent
+    private static final int EXPIRED = -4;
+    private static final FlightEvent REQUEST_EVENT = new FlightEvent("com.iancaffey.steam.Request", "Steam Request", "A request sent to the Steam WebAPI or Steam Community",
+            new String[]{"method", "endpoint", "requestMethod", "status", "bytes"}, new Class<?>[]{String.class, String.class, String.class, int.class, long.class});
+    public static final int DEFAULT_CONCURRENCY = 8;
+    public static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    public static final String DEFAULT_API_URL = "http://api.steampowered.com";
+    public static final String DEFAULT_COMMUNITY_URL = "http://steamcommunity.com";
     private final Steam steam;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Transport transport;
+    private final int concurrency;
+    private final Threading threading;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "steam-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final RateLimiter rateLimiter = new RateLimiter();
+    private final ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter();
+    private final ResponseCache cache = new ResponseCache();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    private final RetryBudget retryBudget = new RetryBudget();
+    private final ConcurrentMap<Object, HedgePolicy> hedgePolicies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Priority> priorities = new ConcurrentHashMap<>();
+    private final DispatchQueue backlog = new DispatchQueue();
+    private int idleWorkers;
+    private volatile RetryPolicy retryPolicy = new RetryPolicy();
+    private volatile CircuitBreakers circuitBreakers = new CircuitBreakers();
+    private volatile Bulkheads bulkheads;
+    private volatile long timeout = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT);
+    private volatile String apiUrl = DEFAULT_API_URL;
+    private volatile String communityUrl = DEFAULT_COMMUNITY_URL;
 
     /**
      * Creates a new communicator for the Steam API wrapper.
@@ -32,7 +84,458 @@ public class Communicator implements AutoCloseable {
      * @throws IllegalArgumentException if <code>steam == null</code>
      */
     public Communicator(Steam steam) {
+        this(steam, new HttpTransport(), DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new communicator for the Steam API wrapper using a preset transport.
+     * Each endpoint may have up to half of <code>concurrency</code> requests in flight, so the other endpoints always keep the rest.
+     *
+     * @param steam       the steam API reference
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once
+     * @throws IllegalArgumentException if <code>steam == null</code>, <code>transport == null</code> or <code>concurrency &lt; 1</code>
+     */
+    public Communicator(Steam steam, Transport transport, int concurrency) {
+        this(steam, transport, concurrency, Threading.PLATFORM);
+    }
+
+    /**
+     * Creates a new communicator for the Steam API wrapper using a preset transport and kind of threads.
+     * If virtual threads are requested but unavailable, a fixed pool of <code>concurrency</code> platform threads is used instead.
+     * On platform threads each endpoint may have up to half of <code>concurrency</code> requests in flight, so the other endpoints
+     * always keep the rest. On virtual threads endpoints are not capped, and are only bounded by the concurrency limit of their host.
+     *
+     * @param steam       the steam API reference
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once on platform threads
+     * @param threading   the kind of threads requests are sent on
+     * @throws IllegalArgumentException if <code>steam == null</code>, <code>transport == null</code>, <code>concurrency &lt; 1</code> or <code>threading == null</code>
+     */
+    public Communicator(Steam steam, Transport transport, int concurrency, Threading threading) {
+        this(steam, transport, concurrency, threading, defaultBulkheads(concurrency, threading));
+    }
+
+    /**
+     * Creates a new communicator for the Steam API wrapper using a preset transport, kind of threads and bulkheads.
+     * If virtual threads are requested but unavailable, a fixed pool of <code>concurrency</code> platform threads is used instead.
+     *
+     * @param steam       the steam API reference
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once on platform threads
+     * @param threading   the kind of threads requests are sent on
+     * @param bulkheads   the bulkheads bounding the requests in flight and waiting for each endpoint
+     * @throws IllegalArgumentException if <code>steam == null</code>, <code>transport == null</code>, <code>concurrency &lt; 1</code>,
+     *                                  <code>threading == null</code> or <code>bulkheads == null</code>
+     */
+    public Communicator(Steam steam, Transport transport, int concurrency, Threading threading, Bulkheads bulkheads) {
+        if (steam == null || transport == null || concurrency < 1 || threading == null || bulkheads == null)
+            throw new IllegalArgumentException();
         this.steam = steam;
+        this.bulkheads = bulkheads;
+        this.transport = transport;
+        this.concurrency = concurrency;
+        ExecutorService executor = threading == Threading.VIRTUAL ? newVirtualThreadExecutor() : null;
+        this.threading = executor == null ? Threading.PLATFORM : Threading.VIRTUAL;
+        this.executor = executor == null ? Executors.newFixedThreadPool(concurrency) : executor;
+        this.idleWorkers = executor == null ? concurrency : Integer.MAX_VALUE;
+        //Trade offers expire, so acting on them and looking them up must not wait behind background calls
+        for (Object key : new Object[]{Method.CANCEL_TRADE_OFFER, Method.DECLINE_TRADE_OFFER, Method.GET_TRADE_OFFER, Method.GET_TRADE_HISTORY, Endpoint.TRADE_OFFER})
+            priorities.put(key, Priority.HIGH);
+        //Deadline timers are cancelled as soon as their request completes, so they must not linger in the queue
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        //Requests beyond the connection pool of a host would only wait for a connection inside the transport
+        if (transport instanceof HttpTransport)
+            concurrencyLimiter.setLimits(concurrencyLimiter.getMinLimit(), ((HttpTransport) transport).getConnectionsPerHost());
+    }
+
+    /**
+     * The transport used to send requests to the Steam servers.
+     *
+     * @return the communicator transport
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * The maximum number of requests in flight at once on platform threads.
+     *
+     * @return the number of concurrent requests
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * The kind of threads requests are sent on.
+     *
+     * @return {@link Threading#VIRTUAL} if requests are sent on virtual threads, {@link Threading#PLATFORM} otherwise
+     */
+    public Threading getThreading() {
+        return threading;
+    }
+
+    /**
+     * Creates the bulkheads used when none are given for a kind of threads.
+     * Platform threads are scarce, so each endpoint may only keep up to half of them busy. Virtual threads are not,
+     * so capping endpoints would only hold back requests the concurrency limit of their host has room for.
+     *
+     * @param concurrency the maximum number of requests in flight at once on platform threads
+     * @param threading   the kind of threads requests are sent on
+     * @return the default bulkheads
+     */
+    static Bulkheads defaultBulkheads(int concurrency, Threading threading) {
+        if (threading == Threading.VIRTUAL && hasVirtualThreads())
+            return new Bulkheads(Integer.MAX_VALUE);
+        return new Bulkheads(Math.max(1, concurrency / 2));
+    }
+
+    /**
+     * Determines if the JVM supports virtual threads, without creating an executor for them.
+     *
+     * @return <code>true</code> if virtual threads are available, <code>false</code> otherwise
+     */
+    private static boolean hasVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor which runs each task on a new virtual thread.
+     * The executor is looked up reflectively as virtual threads only exist on Java 21 and later.
+     *
+     * @return <code>null</code> if virtual threads are unavailable, the virtual thread executor otherwise
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The base url of the Steam WebAPI which method calls are sent to.
+     *
+     * @return the WebAPI base url
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * Updates the base url of the Steam WebAPI which method calls are sent to, such as a local stub server.
+     *
+     * @param apiUrl the new WebAPI base url, without a trailing slash (ie. <code>http://localhost:8080</code>)
+     * @throws IllegalArgumentException if <code>apiUrl == null</code>
+     */
+    public void setApiUrl(String apiUrl) {
+        if (apiUrl == null)
+            throw new IllegalArgumentException();
+        this.apiUrl = apiUrl;
+    }
+
+    /**
+     * The base url of the Steam Community site which inventory, market and trade offer pages are requested from.
+     *
+     * @return the Steam Community base url
+     */
+    public String getCommunityUrl() {
+        return communityUrl;
+    }
+
+    /**
+     * Updates the base url of the Steam Community site which inventory, market and trade offer pages are requested from.
+     *
+     * @param communityUrl the new Steam Community base url, without a trailing slash (ie. <code>http://localhost:8080</code>)
+     * @throws IllegalArgumentException if <code>communityUrl == null</code>
+     */
+    public void setCommunityUrl(String communityUrl) {
+        if (communityUrl == null)
+            throw new IllegalArgumentException();
+        this.communityUrl = communityUrl;
+    }
+
+    /**
+     * The rate limiter which spaces out requests to each endpoint.
+     *
+     * @return the communicator rate limiter
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * The limiter which adapts the number of requests in flight to each Steam host to what the host currently tolerates.
+     *
+     * @return the communicator concurrency limiter
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * The registry which records the count, errors, bytes and queue, network and parse times of the requests sent to Steam.
+     *
+     * @return the communicator metrics
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * The cache which answers repeated Steam WebAPI calls without sending a request.
+     *
+     * @return the communicator response cache
+     */
+    public ResponseCache getResponseCache() {
+        return cache;
+    }
+
+    /**
+     * The retry policy used for requests without a more specific policy.
+     *
+     * @return the default retry policy
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Updates the retry policy used for requests without a more specific policy.
+     *
+     * @param retryPolicy the default retry policy, {@link RetryPolicy#NONE} to disable retries
+     * @throws IllegalArgumentException if <code>retryPolicy == null</code>
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        if (retryPolicy == null)
+            throw new IllegalArgumentException();
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Updates the retry policy used for calls of a Steam WebAPI method, taking precedence over the policy of its endpoint.
+     *
+     * @param method      the Steam WebAPI method
+     * @param retryPolicy the retry policy, <code>null</code> to use the endpoint or default policy
+     */
+    public void setRetryPolicy(Method method, RetryPolicy retryPolicy) {
+        setRetryPolicy((Object) method, retryPolicy);
+    }
+
+    /**
+     * Updates the retry policy used for requests to an endpoint, such as the Steam Community inventory pages.
+     *
+     * @param endpoint    the endpoint
+     * @param retryPolicy the retry policy, <code>null</code> to use the default policy
+     */
+    public void setRetryPolicy(Endpoint endpoint, RetryPolicy retryPolicy) {
+        setRetryPolicy((Object) endpoint, retryPolicy);
+    }
+
+    private void setRetryPolicy(Object key, RetryPolicy retryPolicy) {
+        if (key == null)
+            throw new IllegalArgumentException();
+        if (retryPolicy == null)
+            retryPolicies.remove(key);
+        else
+            retryPolicies.put(key, retryPolicy);
+    }
+
+    /**
+     * The retry policy which applies to a request, looked up by method, then endpoint, then the default policy.
+     *
+     * @param request the request
+     * @return the retry policy for the request
+     */
+    public RetryPolicy getRetryPolicy(Request request) {
+        RetryPolicy policy = request.getMethod() == null ? null : retryPolicies.get(request.getMethod());
+        if (policy == null)
+            policy = retryPolicies.get(request.getEndpoint());
+        return policy == null ? retryPolicy : policy;
+    }
+
+    /**
+     * Updates the hedge policy used for calls of a Steam WebAPI method, taking precedence over the policy of its endpoint.
+     * Calls slower than the policy allows are sent a second time, and whichever response arrives first is used.
+     *
+     * @param method      the Steam WebAPI method, which must be called with GET
+     * @param hedgePolicy the hedge policy, <code>null</code> to use the endpoint policy
+     * @throws IllegalArgumentException if the method is not called with GET, as other methods may not be sent twice
+     */
+    public void setHedgePolicy(Method method, HedgePolicy hedgePolicy) {
+        if (method == null || (method.getRequestMethod() != null && method.getRequestMethod() != RequestMethod.GET))
+            throw new IllegalArgumentException();
+        setHedgePolicy((Object) method, hedgePolicy);
+    }
+
+    /**
+     * Updates the hedge policy used for GET requests to an endpoint, such as the Steam Community inventory pages.
+     * Requests to the endpoint made with any other request method are never hedged.
+     *
+     * @param endpoint    the endpoint
+     * @param hedgePolicy the hedge policy, <code>null</code> to stop hedging requests to the endpoint
+     */
+    public void setHedgePolicy(Endpoint endpoint, HedgePolicy hedgePolicy) {
+        setHedgePolicy((Object) endpoint, hedgePolicy);
+    }
+
+    private void setHedgePolicy(Object key, HedgePolicy hedgePolicy) {
+        if (key == null)
+            throw new IllegalArgumentException();
+        if (hedgePolicy == null)
+            hedgePolicies.remove(key);
+        else
+            hedgePolicies.put(key, hedgePolicy);
+    }
+
+    /**
+     * The hedge policy which applies to a request, looked up by method, then endpoint.
+     *
+     * @param request the request
+     * @return <code>null</code> if the request is not hedged, the hedge policy for the request otherwise
+     */
+    public HedgePolicy getHedgePolicy(Request request) {
+        if (request.getRequestMethod() != RequestMethod.GET || hedgePolicies.isEmpty())
+            return null;
+        HedgePolicy policy = request.getMethod() == null ? null : hedgePolicies.get(request.getMethod());
+        return policy == null ? hedgePolicies.get(request.getEndpoint()) : policy;
+    }
+
+    /**
+     * Updates the priority of calls of a Steam WebAPI method, taking precedence over the priority of its endpoint.
+     * Trade offer methods are {@link Priority#HIGH} by default.
+     *
+     * @param method   the Steam WebAPI method
+     * @param priority the priority, <code>null</code> to use the endpoint or default priority
+     */
+    public void setPriority(Method method, Priority priority) {
+        setPriority((Object) method, priority);
+    }
+
+    /**
+     * Updates the priority of requests to an endpoint, such as the Steam Community trade offer pages.
+     * The trade offer pages are {@link Priority#HIGH} by default.
+     *
+     * @param endpoint the endpoint
+     * @param priority the priority, <code>null</code> to use the default priority
+     */
+    public void setPriority(Endpoint endpoint, Priority priority) {
+        setPriority((Object) endpoint, priority);
+    }
+
+    private void setPriority(Object key, Priority priority) {
+        if (key == null)
+            throw new IllegalArgumentException();
+        if (priority == null)
+            priorities.remove(key);
+        else
+            priorities.put(key, priority);
+    }
+
+    /**
+     * The priority of a request while it waits to be sent, looked up by method, then endpoint.
+     *
+     * @param request the request
+     * @return the priority of the request, {@link Priority#NORMAL} if neither its method nor endpoint has one
+     */
+    public Priority getPriority(Request request) {
+        Priority priority = request.getMethod() == null ? null : priorities.get(request.getMethod());
+        if (priority == null)
+            priority = priorities.get(request.getEndpoint());
+        return priority == null ? Priority.NORMAL : priority;
+    }
+
+    /**
+     * The budget which caps retries to a fraction of the requests being sent.
+     *
+     * @return the communicator retry budget
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * The circuit breakers which make requests to failing Steam hosts and endpoints fail fast.
+     *
+     * @return the communicator circuit breakers
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Updates the circuit breakers which make requests to failing Steam hosts and endpoints fail fast.
+     * The state of the previous breakers is discarded.
+     *
+     * @param circuitBreakers the new circuit breakers
+     * @throws IllegalArgumentException if <code>circuitBreakers == null</code>
+     */
+    public void setCircuitBreakers(CircuitBreakers circuitBreakers) {
+        if (circuitBreakers == null)
+            throw new IllegalArgumentException();
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    /**
+     * The bulkheads which bound the requests in flight and waiting for each endpoint, so one slow endpoint cannot take every communication thread.
+     *
+     * @return the communicator bulkheads
+     */
+    public Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * Updates the bulkheads which bound the requests in flight and waiting for each endpoint.
+     * Requests already admitted by the previous bulkheads complete against them.
+     *
+     * @param bulkheads the new bulkheads
+     * @throws IllegalArgumentException if <code>bulkheads == null</code>
+     */
+    public void setBulkheads(Bulkheads bulkheads) {
+        if (bulkheads == null)
+            throw new IllegalArgumentException();
+        this.bulkheads = bulkheads;
+    }
+
+    /**
+     * The time each call has to complete, including waiting for rate limits and retries.
+     *
+     * @param unit the unit of the returned time
+     * @return the call timeout
+     */
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeout, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Updates the time each call has to complete, including waiting for rate limits and retries.
+     * The deadline of a call starts when it is made and bounds the socket timeouts of every request sent for it.
+     * Calls which miss their deadline fail with a {@link DeadlineExceededException}.
+     *
+     * @param timeout the new call timeout
+     * @param unit    the unit of the timeout
+     * @throws IllegalArgumentException if <code>timeout &lt;= 0</code> or <code>unit == null</code>
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0 || unit == null)
+            throw new IllegalArgumentException();
+        this.timeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * The scheduler used to delay work without holding a communication thread.
+     *
+     * @return the communicator scheduler
+     */
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
     }
 
     /**
@@ -40,7 +543,9 @@ public class Communicator implements AutoCloseable {
      */
     @Override
     public void close() {
+        scheduler.shutdownNow();
         executor.shutdown();
+        transport.close();
     }
 
     /**
@@ -63,7 +568,7 @@ public class Communicator implements AutoCloseable {
      * @return <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
      */
     public String retrieve(Method method, DataFormat format, Object... parameters) {
-        return retrieve(generateURL(method, format, parameters), method.getRequestMethod());
+        return await(retrieveAsync(method, format, parameters));
     }
 
     /**
@@ -79,7 +584,7 @@ public class Communicator implements AutoCloseable {
             return null;
         if (format == null)
             format = DataFormat.JSON;
-        String token = String.format(FORMAT_PATTERN, format.getToken());
+        String token = FORMAT_TOKEN + format.getToken();
         return retrieve(loc.contains(token) ? loc : loc + token, requestMethod);
     }
 
@@ -90,44 +595,696 @@ public class Communicator implements AutoCloseable {
      * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
      * @return <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
      */
-    public String retrieve(final String loc, final RequestMethod requestMethod) {
+    public String retrieve(String loc, RequestMethod requestMethod) {
+        return await(retrieveAsync(loc, requestMethod));
+    }
+
+    /**
+     * Asynchronously retrieves the response text from the Steam WebAPI for the specified method in JSON.
+     *
+     * @param method     the method to call with the Steam WebAPI
+     * @param parameters the parameters to add to the query string
+     * @return a future completed with <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
+     */
+    public CompletableFuture<String> retrieveAsync(Method method, Object... parameters) {
+        return retrieveAsync(method, DataFormat.JSON, parameters);
+    }
+
+    /**
+     * Asynchronously retrieves the response text from the Steam WebAPI for the specified method in the target format.
+     *
+     * @param method     the method to call with the Steam WebAPI
+     * @param format     the format in which to retrieve the data in
+     * @param parameters the parameters to add to the query string
+     * @return a future completed with <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
+     */
+    public CompletableFuture<String> retrieveAsync(Method method, DataFormat format, Object... parameters) {
+        String loc = generateURL(method, format, "", parameters);
+        if (loc == null)
+            return CompletableFuture.completedFuture(null);
+        return submit(new Request(loc, method), String.class, Strings::read, null);
+    }
+
+    /**
+     * Asynchronously retrieves the response text from the Steam API at the specified URL using a specific data format.
+     *
+     * @param loc           the location of the Steam API resource
+     * @param format        the format in which to retrieve the data in
+     * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
+     * @return a future completed with <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
+     */
+    public CompletableFuture<String> retrieveAsync(String loc, DataFormat format, RequestMethod requestMethod) {
+        if (loc == null)
+            return CompletableFuture.completedFuture(null);
+        if (format == null)
+            format = DataFormat.JSON;
+        String token = FORMAT_TOKEN + format.getToken();
+        return retrieveAsync(loc.contains(token) ? loc : loc + token, requestMethod);
+    }
+
+    /**
+     * Asynchronously retrieves the response text from the Steam API at the specified URL.
+     * The returned future is completed by the communication thread as soon as the response has been read.
+     *
+     * @param loc           the location of the Steam API resource
+     * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
+     * @return a future completed with <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the valid response text
+     */
+    public CompletableFuture<String> retrieveAsync(String loc, RequestMethod requestMethod) {
         if (loc == null)
+            return CompletableFuture.completedFuture(null);
+        return submit(new Request(loc, requestMethod), String.class, Strings::read, null);
+    }
+
+    /**
+     * Retrieves and builds a model object from the Steam WebAPI for the specified method.
+     * The response is streamed directly into the registered type adapters.
+     *
+     * @param model      the model object class
+     * @param method     the method to call with the Steam WebAPI
+     * @param format     the format in which to retrieve the data in
+     * @param parameters the parameters to add to the query string
+     * @param <T>        the type of object being built
+     * @return <code>null</code> if unable to communicate with the Steam WebAPI, otherwise the new instance of the model class
+     */
+    public <T> T retrieve(Class<T> model, Method method, DataFormat format, Object... parameters) {
+        return await(retrieveAsync(model, method, format, parameters));
+    }
+
+    /**
+     * Retrieves and builds a model object from the JSON response at the specified URL.
+     * The response is streamed directly into the registered type adapters.
+     *
+     * @param model         the model object class
+     * @param loc           the location of the Steam API resource
+     * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
+     * @param <T>           the type of object being built
+     * @return <code>null</code> if unable to communicate with the Steam API, otherwise the new instance of the model class
+     */
+    public <T> T retrieve(Class<T> model, String loc, RequestMethod requestMethod) {
+        return await(retrieveAsync(model, loc, requestMethod));
+    }
+
+    /**
+     * Asynchronously retrieves and builds a model object from the Steam WebAPI for the specified method.
+     * The response is streamed directly into the registered type adapters.
+     *
+     * @param model      the model object class
+     * @param method     the method to call with the Steam WebAPI
+     * @param format     the format in which to retrieve the data in
+     * @param parameters the parameters to add to the query string
+     * @param <T>        the type of object being built
+     * @return a future completed with the new instance of the model class, <code>null</code> if unable to communicate with the Steam WebAPI
+     */
+    public <T> CompletableFuture<T> retrieveAsync(Class<T> model, Method method, DataFormat format, Object... parameters) {
+        String loc = generateURL(method, format, "", parameters);
+        return retrieveAsync(model, loc == null ? null : new Request(loc, method), format);
+    }
+
+    /**
+     * Asynchronously retrieves and builds a model object from the JSON response at the specified URL.
+     * The response is streamed directly into the registered type adapters.
+     *
+     * @param model         the model object class
+     * @param loc           the location of the Steam API resource
+     * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
+     * @param <T>           the type of object being built
+     * @return a future completed with the new instance of the model class, <code>null</code> if unable to communicate with the Steam API
+     */
+    public <T> CompletableFuture<T> retrieveAsync(Class<T> model, String loc, RequestMethod requestMethod) {
+        return retrieveAsync(model, loc == null ? null : new Request(loc, requestMethod), DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves and builds a model object from the response to a request.
+     * A deadline set on the request with {@link Request#setTimeout(long, TimeUnit)} applies to this call only,
+     * while requests without one are bound by the timeout of the communicator.
+     *
+     * @param model   the model object class
+     * @param request the request for the Steam API resource
+     * @param format  the format the response is returned in
+     * @param <T>     the type of object being built
+     * @return a future completed with the new instance of the model class, <code>null</code> if unable to communicate with the Steam API,
+     * or exceptionally with a {@link DeadlineExceededException} if the request did not complete before its deadline
+     */
+    public <T> CompletableFuture<T> retrieveAsync(final Class<T> model, Request request, final DataFormat format) {
+        final DataParser parser = steam.getDataParser();
+        T fallback = parser.build(model, (String) null, format);
+        if (request == null)
+            return CompletableFuture.completedFuture(fallback);
+        return submit(request, model, reader -> parser.build(model, reader, format), fallback);
+    }
+
+    /**
+     * Waits for an asynchronous retrieval to complete.
+     *
+     * @param future the pending retrieval
+     * @param <T>    the type of the retrieved value
+     * @return <code>null</code> if the retrieval failed or the thread was interrupted, the retrieved value otherwise
+     * @throws DeadlineExceededException if the retrieval did not complete before its deadline
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
-        Future<String> retriever = executor.submit(new Callable<String>() {
-            @Override
-            public String call() throws Exception {
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DeadlineExceededException)
+                throw (DeadlineExceededException) e.getCause();
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Queues a request to be sent once the rate limit for its endpoint allows.
+     * Requests with a fresh cached response are read from the cache instead, and GET requests identical to one already in flight
+     * share its response rather than being sent again.
+     *
+     * @param request    the request to send
+     * @param model      the type of value read from the response, used to tell apart identical requests read differently
+     * @param bodyReader the reader which consumes the response body
+     * @param fallback   the value to complete with if unable to communicate with the Steam API
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the value read from the response, or exceptionally with a {@link DeadlineExceededException}
+     * if the request did not complete before its deadline
+     */
+    private <T> CompletableFuture<T> submit(final Request request, Class<?> model, final BodyReader<T> bodyReader, final T fallback) {
+        byte[] cached = cache.get(request);
+        //Fresh responses are read on the calling thread, as queueing them behind requests waiting to be sent would only slow them down
+        if (cached != null)
+            return CompletableFuture.completedFuture(read(cached, bodyReader, fallback));
+        if (!request.hasDeadline())
+            request.setTimeout(timeout, TimeUnit.NANOSECONDS);
+        cache.revalidate(request);
+        if (request.getRequestMethod() != RequestMethod.GET)
+            return within(send(request, bodyReader, fallback), request);
+        return within(coalesce(request, model, bodyReader, fallback), request);
+    }
+
+    /**
+     * Sends a GET request, unless an identical request is already in flight in which case its response is shared.
+     * A shared request which fails because its own deadline passed is sent again for each caller with time left,
+     * as callers may have later deadlines than the caller which sent it.
+     *
+     * @param request    the request to send
+     * @param model      the type of value read from the response, used to tell apart identical requests read differently
+     * @param bodyReader the reader which consumes the response body
+     * @param fallback   the value to complete with if unable to communicate with the Steam API
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the value read from the response
+     */
+    private <T> CompletableFuture<T> coalesce(final Request request, final Class<?> model, final BodyReader<T> bodyReader, final T fallback) {
+        final String key = model.getName() + ' ' + ResponseCache.key(request.getUrl());
+        final CompletableFuture<T> flight = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            send(request, bodyReader, fallback).whenComplete((value, throwable) -> {
+                inFlight.remove(key, flight);
+                if (throwable != null)
+                    flight.completeExceptionally(throwable);
+                else
+                    flight.complete(value);
+            });
+            return flight.thenApply(Function.identity());
+        }
+        final CompletableFuture<T> joined = new CompletableFuture<>();
+        existing.whenComplete((value, throwable) -> {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof DeadlineExceededException && request.getRemaining(TimeUnit.NANOSECONDS) > 0)
+                coalesce(request, model, bodyReader, fallback).whenComplete((retried, failure) -> {
+                    if (failure != null)
+                        joined.completeExceptionally(failure);
+                    else
+                        joined.complete(retried);
+                });
+            else if (throwable != null)
+                joined.completeExceptionally(cause);
+            else
+                joined.complete(value);
+        });
+        return joined;
+    }
+
+    /**
+     * Bounds a pending request by its deadline, failing with a {@link DeadlineExceededException} once it has passed.
+     * Callers sharing a coalesced request are each bound by their own deadline.
+     *
+     * @param future  the pending request
+     * @param request the request whose deadline applies
+     * @param <T>     the type of value read from the response
+     * @return a future completed with the value of the pending request if it completes in time
+     */
+    private <T> CompletableFuture<T> within(CompletableFuture<T> future, final Request request) {
+        long remaining = request.getRemaining(TimeUnit.NANOSECONDS);
+        if (future.isDone() || remaining == Long.MAX_VALUE)
+            return future;
+        final CompletableFuture<T> bounded = new CompletableFuture<>();
+        final ScheduledFuture<?> timer = scheduler.schedule(() -> bounded.completeExceptionally(deadlineExceeded(request)), remaining, TimeUnit.NANOSECONDS);
+        future.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+            if (throwable != null)
+                bounded.completeExceptionally(throwable);
+            else
+                bounded.complete(value);
+        });
+        return bounded;
+    }
+
+    /**
+     * Creates the exception reported for a request which did not complete before its deadline.
+     * The url is left out of the message as it carries the WebAPI key.
+     *
+     * @param request the request which timed out
+     * @return the deadline exception
+     */
+    private static DeadlineExceededException deadlineExceeded(Request request) {
+        return new DeadlineExceededException((request.getMethod() == null ? request.getEndpoint().name() : request.getMethod().name()) + " request did not complete before its deadline");
+    }
+
+    /**
+     * Creates a future failed for a request which can no longer complete before its deadline.
+     *
+     * @param request the request which timed out
+     * @param <T>     the type of value read from the response
+     * @return a future completed exceptionally with a {@link DeadlineExceededException}
+     */
+    private static <T> CompletableFuture<T> expired(Request request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(deadlineExceeded(request));
+        return future;
+    }
+
+    /**
+     * Sends a request once the rate limit for its endpoint allows, retrying transient failures according to its retry policy.
+     * Steam WebAPI calls are only counted against the quota of their WebAPI key now, and calls created without a key are given one
+     * from the pool, so cached and coalesced calls never use up the quota of a key.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param fallback   the value to complete with if unable to communicate with the Steam API
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the value read from the response
+     */
+    private <T> CompletableFuture<T> send(Request request, BodyReader<T> bodyReader, T fallback) {
+        String apiKey = apiKey(request.getUrl());
+        if (request.getMethod() != null && "".equals(apiKey)) {
+            String key = steam.getKeyPool().acquire();
+            if (key == null)
+                return CompletableFuture.completedFuture(fallback);
+            request = withKey(request, key);
+        } else if (apiKey != null) {
+            //Query strings from generateURL carry a key which was not counted when they were created
+            steam.getKeyPool().charge(apiKey);
+        }
+        retryBudget.deposit();
+        return attempt(request, bodyReader, fallback, 1, 0);
+    }
+
+    /**
+     * Sends a single attempt of a request after a delay, scheduling another attempt if it fails with a retryable status.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param fallback   the value to complete with if the request ultimately fails
+     * @param attempt    the number of the attempt, starting from <code>1</code>
+     * @param delay      the time in nanoseconds to wait before sending the attempt
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the value read from the response, or exceptionally if the deadline of the request passes
+     */
+    private <T> CompletableFuture<T> attempt(final Request request, final BodyReader<T> bodyReader, final T fallback, final int attempt, final long delay) {
+        //The rate limit token is only taken if it arrives in time, so requests given up on do not leave the bucket in debt
+        long remaining = request.getRemaining(TimeUnit.NANOSECONDS);
+        long reserved = delay >= remaining ? -1 : rateLimiter.reserve(request.getEndpoint(), remaining);
+        if (reserved < 0)
+            return expired(request);
+        long wait = Math.max(delay, reserved);
+        return race(request, bodyReader, wait).thenCompose(exchange -> {
+            if (exchange.successful)
+                return CompletableFuture.completedFuture(exchange.value);
+            if (request.getRemaining(TimeUnit.NANOSECONDS) <= 0) {
+                return expired(request);
+            }
+            long next = getRetryPolicy(request).getDelay(request, exchange.status, exchange.retryAfter, attempt, delay);
+            if (next < 0 || next >= request.getRemaining(TimeUnit.NANOSECONDS) || !retryBudget.withdraw()) {
+                if (exchange.exception != null)
+                    exchange.exception.printStackTrace();
+                return CompletableFuture.completedFuture(fallback);
+            }
+            return attempt(exchange.status == 429 ? rekey(request) : request, bodyReader, fallback, attempt + 1, next);
+        });
+    }
+
+    /**
+     * Sends a request after a delay, hedging it with a duplicate request if its hedge policy finds it slow.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param wait       the time in nanoseconds to wait before sending the request
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the outcome of the first successful copy of the request, or the last failed copy
+     */
+    private <T> CompletableFuture<Exchange<T>> race(final Request request, final BodyReader<T> bodyReader, long wait) {
+        HedgePolicy hedgePolicy = getHedgePolicy(request);
+        long hedgeDelay = hedgePolicy == null ? -1 : hedgePolicy.getDelay();
+        if (hedgeDelay < 0)
+            return dispatch(request, bodyReader, wait);
+        final Race<T> race = new Race<>(request, bodyReader);
+        if (wait <= 0)
+            race.start(false);
+        else
+            scheduler.schedule(() -> race.start(false), wait, TimeUnit.NANOSECONDS);
+        race.timer = scheduler.schedule(() -> race.start(true), wait + hedgeDelay, TimeUnit.NANOSECONDS);
+        return race.result;
+    }
+
+    /**
+     * Sends a request on the communication threads after a delay, once the concurrency limit of its host has room,
+     * ahead of waiting requests of a lower priority.
+     * Neither the delay nor waiting for room holds a communication thread.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param delay      the time in nanoseconds to wait before sending the request
+     * @param <T>        the type of value read from the response
+     * @return a future completed with the outcome of the request
+     */
+    private <T> CompletableFuture<Exchange<T>> dispatch(final Request request, final BodyReader<T> bodyReader, long delay) {
+        final CompletableFuture<Exchange<T>> future = new CompletableFuture<>();
+        Runnable acquire = () -> {
+            boolean admitted = admit(request, () -> {
                 try {
-                    HttpURLConnection connection = (HttpURLConnection) new URL(loc).openConnection();
-                    if (requestMethod != null)
-                        connection.setRequestMethod(requestMethod.name());
-                    if (connection.getResponseCode() != 200)
-                        return null;
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                        StringBuilder builder = new StringBuilder();
-                        String string;
-                        while ((string = reader.readLine()) != null)
-                            builder.append(string);
-                        return builder.toString();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        return null;
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                    return null;
+                    future.complete(exchange(request, bodyReader));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
                 }
+            }, future::completeExceptionally);
+            if (!admitted)
+                future.complete(new Exchange<>(Bulkheads.BULKHEAD_FULL, null, null));
+        };
+        if (delay <= 0)
+            acquire.run();
+        else
+            scheduler.schedule(acquire, delay, TimeUnit.NANOSECONDS);
+        return future;
+    }
+
+    /**
+     * Runs a task sending a request on a communication thread once the bulkhead of its endpoint and the concurrency limit of its host
+     * have room, serving waiting requests by priority. Neither wait holds a thread.
+     * The task must give back the concurrency permit of the host, while the bulkhead permit is given back once the task completes.
+     *
+     * @param request  the request the task sends
+     * @param task     the task sending the request
+     * @param rejected the callback run instead of the task if the communicator is closed
+     * @return <code>false</code> if the bulkhead of the endpoint is full and the task will never run, <code>true</code> otherwise
+     */
+    private boolean admit(final Request request, final Runnable task, final Consumer<RejectedExecutionException> rejected) {
+        final Priority priority = getPriority(request);
+        final Bulkhead bulkhead = bulkheads.getBulkhead(request.getEndpoint());
+        final long queued = System.nanoTime();
+        boolean admitted = bulkhead.acquire(priority, () -> concurrencyLimiter.acquire(request.getHost(), priority, () -> {
+            try {
+                execute(priority, () -> {
+                    metrics.getMetrics(request).recordQueueTime(System.nanoTime() - queued);
+                    try {
+                        task.run();
+                    } finally {
+                        bulkhead.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                concurrencyLimiter.release(request.getHost());
+                bulkhead.release();
+                rejected.accept(e);
             }
-        });
-        while (!retriever.isDone())
-            Time.sleep(50);
+        }));
+        if (!admitted)
+            metrics.getMetrics(request).recordRefused(Bulkheads.BULKHEAD_FULL);
+        return admitted;
+    }
+
+    /**
+     * Runs a task on a free communication thread, or queues it by priority until one frees up.
+     * Communication threads serve the queue themselves before going idle, so the executor never holds a line of its own
+     * which urgent requests would have to wait through.
+     *
+     * @param priority the priority of the task
+     * @param task     the task to run
+     * @throws RejectedExecutionException if the communicator is closed
+     */
+    private void execute(Priority priority, Runnable task) {
+        synchronized (backlog) {
+            if (idleWorkers == 0) {
+                backlog.add(priority, task);
+                return;
+            }
+            idleWorkers--;
+        }
         try {
-            return retriever.get();
-        } catch (InterruptedException | ExecutionException e) {
+            executor.execute(() -> work(task));
+        } catch (RejectedExecutionException e) {
+            synchronized (backlog) {
+                idleWorkers++;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a task on the current communication thread, then the queued tasks until none are left.
+     *
+     * @param task the first task to run
+     */
+    private void work(Runnable task) {
+        Runnable next = task;
+        while (next != null) {
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            synchronized (backlog) {
+                next = backlog.poll();
+                if (next == null)
+                    idleWorkers++;
+            }
+        }
+    }
+
+    /**
+     * Sends a request to the Steam API and reads the response on the calling thread, unless its deadline has passed while it waited
+     * or the circuit breakers for its host or endpoint are open. The outcome is recorded with the circuit breakers,
+     * and the concurrency permit of the request is given back.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param <T>        the type of value read from the response
+     * @return the outcome of the request
+     */
+    private <T> Exchange<T> exchange(Request request, BodyReader<T> bodyReader) {
+        //A request which expired while queued is never sent, so it says nothing about the health of Steam
+        if (request.getRemaining(TimeUnit.NANOSECONDS) <= 0) {
+            concurrencyLimiter.release(request.getHost());
+            return new Exchange<>(EXPIRED, null, null);
+        }
+        CircuitBreakers breakers = circuitBreakers;
+        if (!breakers.allow(request)) {
+            concurrencyLimiter.release(request.getHost());
+            metrics.getMetrics(request).recordRefused(CircuitBreakers.CIRCUIT_OPEN);
+            return new Exchange<>(CircuitBreakers.CIRCUIT_OPEN, null, null);
+        }
+        Object event = REQUEST_EVENT.begin();
+        long start = System.nanoTime();
+        Exchange<T> exchange;
+        try {
+            exchange = transfer(request, bodyReader);
+        } catch (RuntimeException e) {
+            concurrencyLimiter.release(request.getHost());
+            breakers.release(request);
+            throw e;
+        }
+        long latency = System.nanoTime() - start;
+        if (event != null)
+            REQUEST_EVENT.commit(event, request.getMethod() == null ? null : request.getMethod().name(), request.getEndpoint().name(),
+                    request.getRequestMethod().name(), exchange.status, exchange.bytes);
+        //A hedged copy cancelled by its faster twin says nothing about the health of Steam
+        if (request.isCancelled()) {
+            concurrencyLimiter.release(request.getHost());
+            breakers.release(request);
+            return exchange;
+        }
+        concurrencyLimiter.release(request.getHost(), exchange.status, latency);
+        metrics.getMetrics(request).record(exchange.status, exchange.bytes, latency - Math.max(0, exchange.parseTime), exchange.parseTime);
+        breakers.record(request, exchange.status, latency);
+        if (request.getMethod() != null)
+            steam.getKeyPool().report(apiKey(request.getUrl()), exchange.status);
+        HedgePolicy hedgePolicy = getHedgePolicy(request);
+        if (hedgePolicy != null && exchange.successful)
+            hedgePolicy.record(latency);
+        return exchange;
+    }
+
+    /**
+     * Sends a request to the Steam API and reads the response on the calling thread.
+     * Cacheable responses are buffered and stored before being read, and responses Steam reports as not modified are read from the cache.
+     *
+     * @param request    the request to send
+     * @param bodyReader the reader which consumes the response body
+     * @param <T>        the type of value read from the response
+     * @return the outcome of the request
+     */
+    private <T> Exchange<T> transfer(Request request, BodyReader<T> bodyReader) {
+        Response response;
+        try {
+            response = transport.send(request);
+        } catch (IOException e) {
+            return new Exchange<>(RetryPolicy.CONNECTION_FAILURE, null, e);
+        }
+        Exchange<T> exchange;
+        try {
+            exchange = receive(request, response, bodyReader);
+        } catch (IOException e) {
+            exchange = new Exchange<>(RetryPolicy.CONNECTION_FAILURE, null, e);
+        } finally {
+            close(response);
+        }
+        //The revalidated response was evicted while the request was in flight, so it is downloaded once more without validators,
+        //only now the connection of the empty response has been given back
+        if (exchange == null)
+            return transfer(new Request(request, request.getUrl()).setHeader("If-None-Match", null).setHeader("If-Modified-Since", null), bodyReader);
+        return exchange;
+    }
+
+    /**
+     * Reads the response to a request on the calling thread.
+     *
+     * @param request    the request the response answers
+     * @param response   the response
+     * @param bodyReader the reader which consumes the response body
+     * @param <T>        the type of value read from the response
+     * @return <code>null</code> if the response has to be downloaded again without validators, the outcome of the request otherwise
+     * @throws IOException if an error occurs while reading the response
+     */
+    private <T> Exchange<T> receive(Request request, Response response, BodyReader<T> bodyReader) throws IOException {
+        if (response.getStatus() == 304) {
+            byte[] body = cache.refresh(request);
+            if (body != null)
+                return parse(body, bodyReader, 0);
+            //A response which was evicted is only downloaded again once, and only if there is time left for it
+            boolean revalidated = request.getHeaders().containsKey("If-None-Match") || request.getHeaders().containsKey("If-Modified-Since");
+            return revalidated && request.getRemaining(TimeUnit.NANOSECONDS) > 0 ? null : new Exchange<>(304, null, null);
+        }
+        if (response.getStatus() != 200 || response.getBody() == null)
+            return new Exchange<>(response.getStatus(), response.getHeader("Retry-After"), null);
+        MeteredInputStream in = new MeteredInputStream(response.getBody());
+        if (!cache.isCacheable(request)) {
+            //The body is parsed while it streams in, so the time spent waiting on the network is taken out of the parse time
+            long start = System.nanoTime();
+            T value = bodyReader.read(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return new Exchange<>(value).metered(in.getByteCount(), System.nanoTime() - start - in.getReadTime());
+        }
+        byte[] body = Streams.read(in);
+        cache.put(request, body, response.getHeader("ETag"), response.getHeader("Last-Modified"));
+        return parse(body, bodyReader, body.length);
+    }
+
+    /**
+     * Drains and closes a response whose outcome has already been read.
+     * Failing to drain the rest of the body only costs the connection its keep-alive, so it never changes the outcome.
+     *
+     * @param response the response to close
+     */
+    private static void close(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            //The transport discards the connection of a body which could not be drained
+        }
+    }
+
+    /**
+     * Parses a buffered response body on the calling thread, timing how long it takes.
+     *
+     * @param body       the response body
+     * @param bodyReader the reader which consumes the response body
+     * @param bytes      the number of body bytes read from the network
+     * @param <T>        the type of value read from the response
+     * @return the outcome of the request
+     * @throws IOException if an error occurs while reading the body
+     */
+    private static <T> Exchange<T> parse(byte[] body, BodyReader<T> bodyReader, long bytes) throws IOException {
+        long start = System.nanoTime();
+        T value = bodyReader.read(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        return new Exchange<>(value).metered(bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Reads a buffered response body on the calling thread.
+     *
+     * @param body       the response body
+     * @param bodyReader the reader which consumes the response body
+     * @param fallback   the value to return if unable to read the body
+     * @param <T>        the type of value read from the response
+     * @return <code>fallback</code> if unable to read the body, otherwise the value read from the body
+     */
+    private <T> T read(byte[] body, BodyReader<T> bodyReader, T fallback) {
+        try {
+            return bodyReader.read(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        } catch (IOException e) {
             e.printStackTrace();
-            return null;
+            return fallback;
         }
     }
 
+    /**
+     * Finds the WebAPI key a Steam WebAPI query string was created with.
+     *
+     * @param url the query string
+     * @return <code>null</code> if the query string has no key, the WebAPI key otherwise
+     */
+    private static String apiKey(String url) {
+        int start = url.indexOf("?key=");
+        if (start == -1)
+            return null;
+        start += 5;
+        int end = url.indexOf('&', start);
+        return end == -1 ? url.substring(start) : url.substring(start, end);
+    }
+
+    /**
+     * Creates a copy of a throttled Steam WebAPI call using another WebAPI key from the pool, if one is available.
+     *
+     * @param request the throttled request
+     * @return the request using another WebAPI key, <code>request</code> if no other key is available
+     */
+    private Request rekey(Request request) {
+        String key = request.getMethod() == null ? null : apiKey(request.getUrl());
+        if (key == null)
+            return request;
+        String replacement = steam.getKeyPool().peek();
+        if (replacement == null || replacement.equals(key))
+            return request;
+        steam.getKeyPool().charge(replacement);
+        return withKey(request, replacement);
+    }
+
+    /**
+     * Creates a copy of a Steam WebAPI call using a WebAPI key in place of the one it was created with.
+     *
+     * @param request the Steam WebAPI call
+     * @param key     the WebAPI key to call with
+     * @return the request using the WebAPI key
+     */
+    private static Request withKey(Request request, String key) {
+        String url = request.getUrl();
+        int start = url.indexOf("?key=") + 5;
+        int end = url.indexOf('&', start);
+        return new Request(request, url.substring(0, start) + key + (end == -1 ? "" : url.substring(end)));
+    }
+
     /**
      * Creates a Steam WebAPI query string for the method using English.
      *
@@ -151,68 +1308,202 @@ public class Communicator implements AutoCloseable {
     public String generateURL(Method method, DataFormat format, Object... parameters) {
         if (method == null)
             return null;
-        String key = steam.getAPIKey();
+        //The key is only counted against its quota if the query string is sent
+        String key = steam.getKeyPool().peek();
         if (key == null)
             return null;
+        return generateURL(method, format, key, parameters);
+    }
+
+    /**
+     * Creates a Steam WebAPI query string for the method using a WebAPI key.
+     * Query strings created with an empty key are given a key from the pool once they are sent.
+     *
+     * @param method     the method to be called with the Steam WebAPI
+     * @param format     the format in which to return data
+     * @param key        the WebAPI key to call with
+     * @param parameters the parameters to add to the query string
+     * @return <code>null</code> if <code>method == null</code>, a valid Steam WebAPI query string otherwise.
+     */
+    private String generateURL(Method method, DataFormat format, String key, Object... parameters) {
+        if (method == null)
+            return null;
         if (format == null)
             format = DataFormat.JSON;
-        String parameterFormat = method.getParameterFormat();
-        if (parameterFormat == null && parameters != null)
+        QueryTemplate template = method.getQueryTemplate();
+        if (template == null && parameters != null)
             return null;
-        String[] parsedParameters = parameters == null ? null : new String[parameters.length];
-        if (parsedParameters != null) {
-            for (int i = 0; i < parameters.length; i++) {
-                if (!parameters[i].getClass().isArray()) {
-                    if (parameters[i] instanceof Boolean)
-                        parameters[i] = (Boolean) parameters[i] ? 1 : 0;
-                    parsedParameters[i] = String.valueOf(parameters[i]);
-                    continue;
-                } else {
-                    String string = null;
-                    if (parameters[i] instanceof byte[]) {
-                        string = Arrays.toString((byte[]) parameters[i]);
-                    } else if (parameters[i] instanceof int[]) {
-                        string = Arrays.toString((int[]) parameters[i]);
-                    } else if (parameters[i] instanceof long[]) {
-                        string = Arrays.toString((long[]) parameters[i]);
-                    } else if (parameters[i] instanceof short[]) {
-                        string = Arrays.toString((short[]) parameters[i]);
-                    } else if (parameters[i] instanceof boolean[]) {
-                        string = Arrays.toString((boolean[]) parameters[i]).replaceAll("true", "1").replaceAll("false", "0");
-                    } else if (parameters[i] instanceof double[]) {
-                        string = Arrays.toString((double[]) parameters[i]);
-                    }
-                    if (string != null) {
-                        if (string.length() > 2)
-                            string = string.substring(1, string.length() - 1);
-                        parsedParameters[i] = string.replaceAll(" ", "");
-                        continue;
-                    }
+        StringBuilder builder = URL_BUILDER.get();
+        builder.setLength(0);
+        builder.append(apiUrl).append(method.getPath()).append("?key=").append(key).append('&');
+        if (parameters != null && parameters.length != 0)
+            template.render(builder, parameters);
+        builder.append(FORMAT_TOKEN).append(format.getToken());
+        String url = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_URL_LENGTH)
+            URL_BUILDER.remove();
+        return url;
+    }
+
+    /**
+     * BodyReader
+     * <p>
+     * An object which consumes the body of a response.
+     *
+     * @param <T> the type of value read from the response
+     */
+    private interface BodyReader<T> {
+        T read(Reader reader) throws IOException;
+    }
+
+    /**
+     * Race
+     * <p>
+     * A request sent once, and a second time if the first copy is slow, completing with whichever copy succeeds first.
+     * The losing copy is cancelled so the transport can abort it and give up its connection, and its communication thread is
+     * interrupted in case it is waiting rather than reading.
+     */
+    private class Race<T> {
+        private final Request request;
+        private final BodyReader<T> bodyReader;
+        private final CompletableFuture<Exchange<T>> result = new CompletableFuture<>();
+        private final Request[] copies = new Request[2];
+        private final Thread[] threads = new Thread[2];
+        private volatile ScheduledFuture<?> timer;
+        private int running;
+
+        private Race(Request request, BodyReader<T> bodyReader) {
+            this.request = request;
+            this.bodyReader = bodyReader;
+        }
+
+        /**
+         * Sends a copy of the request once the concurrency limit of its host has room, unless the race is already over.
+         * The hedged copy is only sent if the rate limit and retry budget have room for it, so hedging never delays other requests.
+         *
+         * @param hedged whether or not the copy is the hedged duplicate
+         */
+        private synchronized void start(final boolean hedged) {
+            if (result.isDone())
+                return;
+            if (hedged && (request.getRemaining(TimeUnit.NANOSECONDS) <= 0 || !rateLimiter.tryReserve(request.getEndpoint()) || !retryBudget.withdraw()))
+                return;
+            running++;
+            if (!admit(request, () -> run(hedged), this::abandon))
+                finish(new Exchange<>(Bulkheads.BULKHEAD_FULL, null, null), hedged);
+        }
+
+        /**
+         * Sends a copy of the request on the current communication thread.
+         *
+         * @param hedged whether or not the copy is the hedged duplicate
+         */
+        private void run(boolean hedged) {
+            int index = hedged ? 1 : 0;
+            //Each copy is its own request, so cancelling the loser leaves the winner untouched
+            Request copy = new Request(request, request.getUrl());
+            synchronized (this) {
+                if (result.isDone()) {
+                    running--;
+                    concurrencyLimiter.release(request.getHost());
+                    return;
                 }
-                int parameterFormatTokenIndex = Strings.nthIndexOf(parameterFormat, "%s", i);
-                if (parameterFormatTokenIndex == -1)
-                    throw new IllegalStateException("Unable to parse array into named segments");
-                int proceedingIndex = Strings.nthIndexOf(parameterFormat, "%s", i - 1);
-                if (proceedingIndex != -1)
-                    proceedingIndex += 3;
-                else
-                    proceedingIndex = 0;
-                String arrayName = parameterFormat.substring(proceedingIndex, parameterFormatTokenIndex - 1);
-                parameterFormat = parameterFormat.substring(0, proceedingIndex) + parameterFormat.substring(parameterFormatTokenIndex);
-                int length = ((Object[]) parameters[i]).length;
-                String individualFormat = "";
-                for (int f = 0; f < length; f++)
-                    individualFormat += String.format("%s[%s]=%s" + (f != length - 1 ? "&" : ""), arrayName, f, "%s");
-                parsedParameters[i] = String.format(individualFormat, ((Object[]) parameters[i]));
+                copies[index] = copy;
+                threads[index] = Thread.currentThread();
+            }
+            try {
+                finish(exchange(copy, bodyReader), hedged);
+            } catch (RuntimeException e) {
+                abandon(e);
+            } finally {
+                synchronized (this) {
+                    copies[index] = null;
+                    threads[index] = null;
+                }
+                //Clears an interrupt which arrived after the copy completed, so it cannot leak into the next task on the thread
+                Thread.interrupted();
+            }
+        }
+
+        /**
+         * Gives up on a copy which could not be sent, failing the race if no other copy is still running.
+         *
+         * @param e the reason the copy failed
+         */
+        private synchronized void abandon(Exception e) {
+            if (--running == 0)
+                result.completeExceptionally(e);
+        }
+
+        /**
+         * Completes the race with the outcome of a copy if it succeeded or no other copy is still running.
+         *
+         * @param exchange the outcome of the copy
+         * @param hedged   whether or not the copy is the hedged duplicate
+         */
+        private void finish(Exchange<T> exchange, boolean hedged) {
+            Request loser;
+            synchronized (this) {
+                running--;
+                if (result.isDone() || (!exchange.successful && running > 0))
+                    return;
+                ScheduledFuture<?> timer = this.timer;
+                if (timer != null)
+                    timer.cancel(false);
+                loser = copies[hedged ? 0 : 1];
+                if (loser != null)
+                    threads[hedged ? 0 : 1].interrupt();
+                result.complete(exchange);
             }
+            //Cancelled outside the lock, as aborting the connection may wait on the thread using it
+            if (loser != null)
+                loser.cancel();
+        }
+    }
+
+    /**
+     * Exchange
+     * <p>
+     * The outcome of sending a single request, either the value read from the response or the reason it failed.
+     *
+     * @param <T> the type of value read from the response
+     */
+    private static class Exchange<T> {
+        private final boolean successful;
+        private final T value;
+        private final int status;
+        private final String retryAfter;
+        private final IOException exception;
+        private long bytes;
+        private long parseTime = -1;
+
+        private Exchange(T value) {
+            this.successful = true;
+            this.value = value;
+            this.status = 200;
+            this.retryAfter = null;
+            this.exception = null;
+        }
+
+        private Exchange(int status, String retryAfter, IOException exception) {
+            this.successful = false;
+            this.value = null;
+            this.status = status;
+            this.retryAfter = retryAfter;
+            this.exception = exception;
+        }
+
+        /**
+         * Records how much of the response was read and how long it took to parse.
+         *
+         * @param bytes     the number of body bytes read from the network
+         * @param parseTime the time in nanoseconds spent parsing the body
+         * @return the exchange
+         */
+        private Exchange<T> metered(long bytes, long parseTime) {
+            this.bytes = bytes;
+            this.parseTime = parseTime;
+            return this;
         }
-        return String.format(QUERY_FORMAT,
-                method.getInterface().getToken(),
-                method.getToken(),
-                method.getVersion().getToken(),
-                key,
-                parsedParameters == null || parsedParameters.length == 0 ? "" :
-                        String.format(parameterFormat, (Object[]) parsedParameters),
-                format.getToken());
     }
 }
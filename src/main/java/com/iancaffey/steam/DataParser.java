@@ -5,8 +5,16 @@ import com.iancaffey.steam.trade.Item;
 import com.iancaffey.steam.trade.PriceHistory;
 import com.iancaffey.steam.trade.TradeHistory;
 import com.iancaffey.steam.trade.Offer;
+import com.iancaffey.steam.util.FlightEvent;
+import com.iancaffey.steam.util.Strings;
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.MalformedJsonException;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 
 /**
@@ -19,7 +27,10 @@ import java.lang.reflect.Type;
  */
 //TODO:Go through all adapters and mimick the steam JSON format to ensure parsing object back and forth will return consistent data
 public class DataParser {
+    private static final FlightEvent BUILD_EVENT = new FlightEvent("com.iancaffey.steam.Build", "Steam Build", "A model object built from a Steam response",
+            new String[]{"adapterType", "format", "objects"}, new Class<?>[]{String.class, String.class, long.class});
     private final GsonBuilder builder;
+    private volatile Gson gson;
 
     /**
      * Creates a new data parser with preset type adapters.
@@ -45,7 +56,8 @@ public class DataParser {
     }
 
     /**
-     * Creates a new data parser with a preset JSON object builder
+     * Creates a new data parser with a preset JSON object builder.
+     * The builder should not be modified once handed to the parser, type adapters should be added using {@link #register(Type, Object)}.
      *
      * @param builder the JSON object builder
      * @throws IllegalArgumentException if <code>builder == null</code>
@@ -96,20 +108,55 @@ public class DataParser {
     public <T> T build(Class<T> model, String data, DataFormat format) {
         if (model == null || model == Void.class)
             return null;
-        if (data == null) {
-            if (!model.isPrimitive())
-                return null;
-            return Number.class.isAssignableFrom(model) ? (T) Integer.valueOf(-1) : (T) Boolean.valueOf(false);
+        if (data == null)
+            return fallback(model);
+        T instance = null;
+        Object event = BUILD_EVENT.begin();
+        try {
+            instance = gson().fromJson(parse(data, format), model);
+        } catch (Exception e) {
+            e.printStackTrace();
         }
+        if (event != null)
+            BUILD_EVENT.commit(event, model.getTypeName(), format == null ? DataFormat.JSON.name() : format.name(), count(instance));
+        return instance != null ? instance : fallback(model);
+    }
+
+    /**
+     * Builds a new object by streaming a block of text through the registered type adapters.
+     * JSON is handed to the type adapters as it is read, without first being copied into a string.
+     * If the original format is not in JSON, the text will be read in full, parsed into JSON then interpreted.
+     *
+     * @param model  the model object class
+     * @param data   the reader which supplies the text containing the values of the object
+     * @param format the original data format the text represents
+     * @param <T>    the type of object being built
+     * @return a new instance of the model class with the values from the text, <code>null</code> if the text is malformed
+     * @throws IOException if an error occurs while reading the text
+     */
+    public <T> T build(Class<T> model, Reader data, DataFormat format) throws IOException {
+        if (model == null || model == Void.class)
+            return null;
+        if (data == null)
+            return build(model, (String) null, format);
+        if (format != null && format != DataFormat.JSON)
+            return build(model, Strings.read(data), format);
         T instance = null;
+        Object event = BUILD_EVENT.begin();
         try {
-            instance = builder.create().fromJson(parse(data, format), model);
+            instance = gson().fromJson(data, model);
+        } catch (JsonParseException e) {
+            //Gson wraps failures of the underlying reader, which must not be mistaken for a malformed response
+            IOException cause = readFailure(e);
+            if (cause != null)
+                throw cause;
+            e.printStackTrace();
         } catch (Exception e) {
             e.printStackTrace();
         }
-        if (instance != null || !model.isPrimitive())
-            return instance;
-        return Number.class.isAssignableFrom(model) ? (T) Integer.valueOf(-1) : (T) Boolean.valueOf(false);
+        if (event != null)
+            BUILD_EVENT.commit(event, model.getTypeName(), DataFormat.JSON.name(), count(instance));
+        return instance != null ? instance : fallback(model);
     }
 
     /**
@@ -119,7 +166,7 @@ public class DataParser {
      * @return the objects pertinent information in a JSON format
      */
     public String parse(Object item) {
-        return builder.create().toJson(item);
+        return gson().toJson(item);
     }
 
     /**
@@ -130,7 +177,66 @@ public class DataParser {
      * @return this
      */
     public DataParser register(Type type, Object object) {
-        builder.registerTypeAdapter(type, object);
+        synchronized (builder) {
+            builder.registerTypeAdapter(type, object);
+            gson = null;
+        }
         return this;
     }
+
+    /**
+     * The value returned in place of a primitive which could not be built, -1 for numbers and false otherwise.
+     *
+     * @param model the model object class
+     * @param <T>   the type of object being built
+     * @return <code>null</code> if the model is not a primitive, the fallback value otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T fallback(Class<T> model) {
+        if (!model.isPrimitive())
+            return null;
+        return Number.class.isAssignableFrom(model) ? (T) Integer.valueOf(-1) : (T) Boolean.valueOf(false);
+    }
+
+    /**
+     * Finds the failure of the underlying reader behind a parse exception.
+     *
+     * @param e the parse exception
+     * @return <code>null</code> if the text itself was malformed, the read failure otherwise
+     */
+    private static IOException readFailure(JsonParseException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause())
+            if (cause instanceof IOException)
+                return cause instanceof MalformedJsonException ? null : (IOException) cause;
+        return null;
+    }
+
+    /**
+     * Counts the objects a type adapter produced, the length of an array or one for any other object.
+     *
+     * @param instance the built object
+     * @return the number of objects produced
+     */
+    private static long count(Object instance) {
+        if (instance == null)
+            return 0;
+        return instance.getClass().isArray() ? Array.getLength(instance) : 1;
+    }
+
+    /**
+     * The JSON object mapper for the registered type adapters.
+     * The mapper is created once and shared between threads until another type adapter is registered.
+     *
+     * @return the JSON object mapper
+     */
+    private Gson gson() {
+        Gson gson = this.gson;
+        if (gson != null)
+            return gson;
+        synchronized (builder) {
+            if (this.gson == null)
+                this.gson = builder.create();
+            return this.gson;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.iancaffey.steam;
+
+/**
+ * DeadlineExceededException
+ * <p>
+ * An exception thrown when a request to the Steam API did not complete before its deadline.
+ * Unlike other failures, which are reported as <code>null</code>, a timeout is reported as this exception so callers can
+ * tell a slow Steam apart from a missing resource.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception for a request which did not complete in time.
+     *
+     * @param message the description of the request which timed out
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.iancaffey.steam;
+
+/**
+ * Endpoint
+ * <p>
+ * An object representing a family of Steam resources which share the same throttling budget.
+ * Steam WebAPI resources are grouped by their interface, Steam Community resources by the kind of page requested.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public enum Endpoint {
+    ECONOMY(Interface.ECONOMY),
+    NEWS(Interface.NEWS),
+    PLAYER_SERVICE(Interface.PLAYER_SERVICE),
+    USER(Interface.USER),
+    USER_STATS(Interface.USER_STATS),
+    /**
+     * The Steam Community inventory pages.
+     */
+    INVENTORY("/inventory/"),
+    /**
+     * The Steam Community market pages.
+     */
+    MARKET("/market/"),
+    /**
+     * The Steam Community trade offer pages.
+     */
+    TRADE_OFFER("/tradeoffer/"),
+    /**
+     * Any resource which does not belong to a known family.
+     */
+    OTHER;
+    private static final Endpoint[] VALUES = values();
+    private final Interface iface;
+    private final String pattern;
+
+    /**
+     * Creates a new endpoint for resources which do not belong to a known family.
+     */
+    Endpoint() {
+        this.iface = null;
+        this.pattern = null;
+    }
+
+    /**
+     * Creates a new endpoint for the methods of a Steam WebAPI interface.
+     *
+     * @param iface the Steam WebAPI interface
+     */
+    Endpoint(Interface iface) {
+        this.iface = iface;
+        this.pattern = "/" + iface.getToken() + "/";
+    }
+
+    /**
+     * Creates a new endpoint for the Steam Community pages containing a path segment.
+     *
+     * @param pattern the path segment identifying the pages
+     */
+    Endpoint(String pattern) {
+        this.iface = null;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Looks up the endpoint a Steam WebAPI method belongs to.
+     *
+     * @param method the Steam WebAPI method
+     * @return the endpoint of the method's interface, {@link #OTHER} if <code>method == null</code>
+     */
+    public static Endpoint of(Method method) {
+        if (method == null)
+            return OTHER;
+        for (Endpoint endpoint : VALUES)
+            if (endpoint.iface == method.getInterface())
+                return endpoint;
+        return OTHER;
+    }
+
+    /**
+     * Looks up the endpoint a Steam resource belongs to.
+     *
+     * @param url the location of the Steam resource
+     * @return the endpoint of the resource, {@link #OTHER} if the resource does not belong to a known family
+     */
+    public static Endpoint of(String url) {
+        if (url == null)
+            return OTHER;
+        for (Endpoint endpoint : VALUES)
+            if (endpoint.pattern != null && url.contains(endpoint.pattern))
+                return endpoint;
+        return OTHER;
+    }
+
+    /**
+     * The Steam WebAPI interface this endpoint represents.
+     *
+     * @return <code>null</code> if the endpoint is not part of the Steam WebAPI, the interface otherwise
+     */
+    public Interface getInterface() {
+        return iface;
+    }
+}
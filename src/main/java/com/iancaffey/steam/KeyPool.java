@@ -0,0 +1,303 @@
+package com.iancaffey.steam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeyPool
+ * <p>
+ * An object which spreads Steam WebAPI calls across several WebAPI keys, so throughput is not capped by the quota of a single key.
+ * Each call is made with the key which has the most of its daily quota left. Keys which Steam refuses (403) or throttles (429)
+ * are quarantined for a while and only used again once every other key is quarantined too.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class KeyPool {
+    public static final long DEFAULT_QUOTA = 100000;
+    private static final long DAY = TimeUnit.DAYS.toNanos(1);
+    private final List<Key> keys = new ArrayList<>();
+    private volatile long quarantine = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Creates a new key pool with the default daily quota for each key.
+     *
+     * @param keys the WebAPI keys
+     * @throws IllegalArgumentException if any key is <code>null</code>
+     */
+    public KeyPool(String... keys) {
+        for (String key : keys)
+            add(key);
+    }
+
+    /**
+     * Adds a WebAPI key with the default daily quota to the pool.
+     *
+     * @param key the WebAPI key
+     * @throws IllegalArgumentException if <code>key == null</code>
+     */
+    public void add(String key) {
+        add(key, DEFAULT_QUOTA);
+    }
+
+    /**
+     * Adds a WebAPI key to the pool, replacing the key if it is already pooled.
+     *
+     * @param key   the WebAPI key
+     * @param quota the number of calls the key may make each day
+     * @throws IllegalArgumentException if <code>key == null</code> or <code>quota &lt; 1</code>
+     */
+    public synchronized void add(String key, long quota) {
+        if (key == null || quota < 1)
+            throw new IllegalArgumentException();
+        remove(key);
+        keys.add(new Key(key, quota));
+    }
+
+    /**
+     * Removes a WebAPI key from the pool.
+     *
+     * @param key the WebAPI key
+     * @return <code>true</code> if the key was pooled, <code>false</code> otherwise
+     */
+    public synchronized boolean remove(String key) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).key.equals(key)) {
+                keys.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The keys in the pool along with their usage.
+     *
+     * @return an unmodifiable snapshot of the pooled keys
+     */
+    public synchronized List<Key> getKeys() {
+        return Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    /**
+     * The usage of a single WebAPI key.
+     *
+     * @param key the WebAPI key
+     * @return <code>null</code> if the key is not pooled, the key usage otherwise
+     */
+    public synchronized Key getKey(String key) {
+        for (Key pooled : keys)
+            if (pooled.key.equals(key))
+                return pooled;
+        return null;
+    }
+
+    /**
+     * The time a key is left unused after Steam refuses or throttles it.
+     *
+     * @param unit the unit of the returned time
+     * @return the quarantine duration
+     */
+    public long getQuarantine(TimeUnit unit) {
+        return unit.convert(quarantine, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Updates the time a key is left unused after Steam refuses or throttles it.
+     *
+     * @param quarantine the new quarantine duration
+     * @param unit       the unit of the duration
+     * @throws IllegalArgumentException if <code>quarantine &lt; 0</code> or <code>unit == null</code>
+     */
+    public void setQuarantine(long quarantine, TimeUnit unit) {
+        if (quarantine < 0 || unit == null)
+            throw new IllegalArgumentException();
+        this.quarantine = unit.toNanos(quarantine);
+    }
+
+    /**
+     * Takes a WebAPI key for a call, preferring the key with the most of its daily quota left.
+     * Quarantined keys are skipped unless every key is quarantined, in which case the key released soonest is used.
+     *
+     * @return <code>null</code> if the pool is empty, the WebAPI key to call with otherwise
+     */
+    public synchronized String acquire() {
+        Key best = best();
+        if (best == null)
+            return null;
+        best.used++;
+        best.requests++;
+        return best.key;
+    }
+
+    /**
+     * Finds the WebAPI key the next call would be made with, without counting it against the quota of the key.
+     *
+     * @return <code>null</code> if the pool is empty, the WebAPI key the next call would use otherwise
+     * @see #acquire()
+     */
+    public synchronized String peek() {
+        Key best = best();
+        return best == null ? null : best.key;
+    }
+
+    /**
+     * Counts a call made with a WebAPI key which was not taken with {@link #acquire()} against the quota of the key.
+     *
+     * @param key the WebAPI key
+     */
+    public synchronized void charge(String key) {
+        Key pooled = getKey(key);
+        if (pooled == null)
+            return;
+        pooled.refresh(System.nanoTime());
+        pooled.used++;
+        pooled.requests++;
+    }
+
+    /**
+     * Finds the key with the most of its daily quota left, preferring keys which are not quarantined.
+     *
+     * @return <code>null</code> if the pool is empty, the best key otherwise
+     */
+    private Key best() {
+        long now = System.nanoTime();
+        Key best = null;
+        for (Key key : keys) {
+            key.refresh(now);
+            if (best == null)
+                best = key;
+            else if (key.isQuarantined(now) != best.isQuarantined(now)) {
+                if (best.isQuarantined(now))
+                    best = key;
+            } else if (best.isQuarantined(now) ? key.quarantinedUntil < best.quarantinedUntil : key.getRemaining() > best.getRemaining())
+                best = key;
+        }
+        return best;
+    }
+
+    /**
+     * Reports the response status of a call made with a WebAPI key, quarantining the key if Steam refused or throttled it.
+     *
+     * @param key    the WebAPI key
+     * @param status the response status
+     */
+    public synchronized void report(String key, int status) {
+        if (status != 403 && status != 429)
+            return;
+        Key pooled = getKey(key);
+        if (pooled == null)
+            return;
+        if (status == 403)
+            pooled.refused++;
+        else
+            pooled.throttled++;
+        pooled.quarantinedUntil = System.nanoTime() + quarantine;
+        pooled.quarantined = true;
+    }
+
+    /**
+     * Key
+     * <p>
+     * A pooled WebAPI key and its usage.
+     */
+    public static class Key {
+        private final String key;
+        private final long quota;
+        private long period = System.nanoTime();
+        private volatile long used;
+        private volatile long requests;
+        private volatile long refused;
+        private volatile long throttled;
+        private volatile long quarantinedUntil;
+        private volatile boolean quarantined;
+
+        private Key(String key, long quota) {
+            this.key = key;
+            this.quota = quota;
+        }
+
+        private void refresh(long now) {
+            if (now - period >= DAY) {
+                period = now;
+                used = 0;
+            }
+        }
+
+        private boolean isQuarantined(long now) {
+            if (quarantined && now - quarantinedUntil >= 0)
+                quarantined = false;
+            return quarantined;
+        }
+
+        /**
+         * The WebAPI key.
+         *
+         * @return the key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * The number of calls the key may make each day.
+         *
+         * @return the daily quota
+         */
+        public long getQuota() {
+            return quota;
+        }
+
+        /**
+         * The number of calls the key may still make today.
+         *
+         * @return the remaining daily quota
+         */
+        public long getRemaining() {
+            return Math.max(0, quota - used);
+        }
+
+        /**
+         * The number of calls made with the key since it was pooled.
+         *
+         * @return the request count
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * The number of calls Steam refused (403) for the key.
+         *
+         * @return the refused request count
+         */
+        public long getRefused() {
+            return refused;
+        }
+
+        /**
+         * The number of calls Steam throttled (429) for the key.
+         *
+         * @return the throttled request count
+         */
+        public long getThrottled() {
+            return throttled;
+        }
+
+        /**
+         * Whether or not the key is currently quarantined.
+         *
+         * @return <code>true</code> if the key is quarantined, <code>false</code> otherwise
+         */
+        public boolean isQuarantined() {
+            return quarantined && System.nanoTime() - quarantinedUntil < 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Key[requests=" + requests + ", remaining=" + getRemaining() + ", refused=" + refused + ", throttled=" + throttled + ", quarantined=" + isQuarantined() + ']';
+        }
+    }
+}
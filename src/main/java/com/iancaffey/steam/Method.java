@@ -83,6 +83,8 @@ public enum Method implements QueryToken {
     private final Version version;
     private final String parameterFormat;
     private final RequestMethod requestMethod;
+    private final String path;
+    private final QueryTemplate template;
 
     /**
      * Creates a new Steam WebAPI method representation with the following characteristics.
@@ -102,6 +104,8 @@ public enum Method implements QueryToken {
         this.token = token;
         this.version = version;
         this.requestMethod = requestMethod;
+        this.path = "/" + iface.getToken() + "/" + token + "/" + version.getToken() + "/";
+        this.template = parameterFormat == null ? null : QueryTemplate.compile(parameterFormat);
     }
 
     /**
@@ -149,4 +153,22 @@ public enum Method implements QueryToken {
     public RequestMethod getRequestMethod() {
         return requestMethod;
     }
+
+    /**
+     * The path of the method on the Steam WebAPI host (ie. <code>/ISteamUser/GetPlayerSummaries/v2/</code>).
+     *
+     * @return the method path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The precompiled form of the parameter format.
+     *
+     * @return <code>null</code> if the method has no parameter format, the query template otherwise
+     */
+    QueryTemplate getQueryTemplate() {
+        return template;
+    }
 }
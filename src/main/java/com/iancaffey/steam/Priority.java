@@ -0,0 +1,25 @@
+package com.iancaffey.steam;
+
+/**
+ * Priority
+ * <p>
+ * The order in which requests waiting to be sent to Steam are served.
+ * Waiting requests of a higher priority are sent first, but a request which has waited too long is sent regardless of its priority.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public enum Priority {
+    /**
+     * Time-sensitive requests, such as accepting, cancelling or looking up trade offers before they expire.
+     */
+    HIGH,
+    /**
+     * Requests without a more specific priority.
+     */
+    NORMAL,
+    /**
+     * Background requests, such as crawling the games and friends of many users, which may wait behind everything else.
+     */
+    LOW
+}
@@ -0,0 +1,143 @@
+package com.iancaffey.steam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QueryTemplate
+ * <p>
+ * An object representing a precompiled query string parameter format.
+ * The format is split once into the literal text surrounding each <code>%s</code> placeholder, so rendering a query string
+ * only appends the literals and parameter values to a builder.
+ * Primitive arrays are rendered as comma separated lists, object arrays as indexed parameters (ie. <code>name[0]=a&amp;name[1]=b</code>).
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class QueryTemplate {
+    private static final String PLACEHOLDER = "%s";
+    private final String[] literals;
+    private final String[] arrayLiterals;
+    private final String[] names;
+
+    /**
+     * Creates a new query template from the literal text surrounding each placeholder.
+     *
+     * @param literals the literal text before each placeholder, followed by the text after the last placeholder
+     */
+    private QueryTemplate(String[] literals) {
+        int count = literals.length - 1;
+        this.literals = literals;
+        this.arrayLiterals = new String[count];
+        this.names = new String[count];
+        for (int i = 0; i < count; i++) {
+            String literal = literals[i];
+            int start = literal.lastIndexOf('&') + 1;
+            int end = literal.endsWith("=") ? literal.length() - 1 : literal.length();
+            arrayLiterals[i] = literal.substring(0, start);
+            names[i] = literal.substring(start, end);
+        }
+    }
+
+    /**
+     * Compiles a query string parameter format.
+     *
+     * @param format the parameter format, using <code>%s</code> for each parameter
+     * @return the compiled query template
+     * @throws IllegalArgumentException if <code>format == null</code>
+     */
+    static QueryTemplate compile(String format) {
+        if (format == null)
+            throw new IllegalArgumentException();
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int index;
+        while ((index = format.indexOf(PLACEHOLDER, start)) != -1) {
+            literals.add(format.substring(start, index));
+            start = index + PLACEHOLDER.length();
+        }
+        literals.add(format.substring(start));
+        return new QueryTemplate(literals.toArray(new String[literals.size()]));
+    }
+
+    /**
+     * The number of parameters the template expects.
+     *
+     * @return the parameter count
+     */
+    int getParameterCount() {
+        return names.length;
+    }
+
+    /**
+     * Appends the query string parameters to a builder.
+     * Parameters beyond the number of placeholders are ignored.
+     *
+     * @param builder    the builder to append to
+     * @param parameters the parameter values
+     * @throws IllegalArgumentException if fewer parameters are provided than the template expects
+     */
+    void render(StringBuilder builder, Object[] parameters) {
+        if (parameters.length < names.length)
+            throw new IllegalArgumentException("Expected " + names.length + " parameters but received " + parameters.length);
+        for (int i = 0; i < names.length; i++) {
+            Object parameter = parameters[i];
+            if (parameter instanceof Object[]) {
+                builder.append(arrayLiterals[i]);
+                Object[] values = (Object[]) parameter;
+                for (int v = 0; v < values.length; v++) {
+                    if (v != 0)
+                        builder.append('&');
+                    builder.append(names[i]).append('[').append(v).append("]=");
+                    append(builder, values[v]);
+                }
+            } else {
+                builder.append(literals[i]);
+                append(builder, parameter);
+            }
+        }
+        builder.append(literals[names.length]);
+    }
+
+    /**
+     * Appends a single parameter value, rendering booleans as <code>1</code> or <code>0</code> and primitive arrays as comma separated lists.
+     *
+     * @param builder   the builder to append to
+     * @param parameter the parameter value
+     */
+    private static void append(StringBuilder builder, Object parameter) {
+        if (parameter instanceof Boolean) {
+            builder.append((Boolean) parameter ? '1' : '0');
+        } else if (parameter instanceof Long) {
+            builder.append(((Long) parameter).longValue());
+        } else if (parameter instanceof Integer) {
+            builder.append(((Integer) parameter).intValue());
+        } else if (parameter instanceof long[]) {
+            long[] values = (long[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i]);
+        } else if (parameter instanceof int[]) {
+            int[] values = (int[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i]);
+        } else if (parameter instanceof short[]) {
+            short[] values = (short[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i]);
+        } else if (parameter instanceof byte[]) {
+            byte[] values = (byte[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i]);
+        } else if (parameter instanceof double[]) {
+            double[] values = (double[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i]);
+        } else if (parameter instanceof boolean[]) {
+            boolean[] values = (boolean[]) parameter;
+            for (int i = 0; i < values.length; i++)
+                (i == 0 ? builder : builder.append(',')).append(values[i] ? '1' : '0');
+        } else {
+            builder.append(parameter);
+        }
+    }
+}
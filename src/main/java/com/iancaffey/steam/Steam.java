@@ -1,8 +1,17 @@
 package com.iancaffey.steam;
 
+import com.iancaffey.steam.net.Bulkheads;
+import com.iancaffey.steam.net.HttpTransport;
+import com.iancaffey.steam.net.Transport;
 import com.iancaffey.steam.trade.TradeService;
 import com.iancaffey.steam.trade.MarketService;
 
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
 /**
  * Steam
  * <p>
@@ -16,12 +25,16 @@ public class Steam implements AutoCloseable {
     private static final String DEFAULT_KEY = "1B9A1673848A9BC878143718651A9A5E"; //Ian's key
     //private static final String DEFAULT_KEY = "F329AD4475CA4C3B9BD47683B0ECB01F"; //Aidden's key
     private static final long DEFAULT_ACCOUNT = 76561198059918087L;
+    private static final int MAX_USERS_PER_CALL = 100;
+    private static final long DEFAULT_BATCH_WINDOW = TimeUnit.MILLISECONDS.toNanos(10);
     private static Steam steam;
     private final TradeService tradeService;
     private final Communicator communicator;
     private final DataParser parser;
     private final MarketService marketService;
-    private String key;
+    private final Batcher<UserProfile> profileBatcher;
+    private final Batcher<BanHistory> banHistoryBatcher;
+    private volatile KeyPool keyPool;
     private long userId;
 
     /**
@@ -38,10 +51,77 @@ public class Steam implements AutoCloseable {
      * @param userId the account associated with the key
      */
     public Steam(String key, long userId) {
-        this.key = key;
+        this(key, userId, new HttpTransport(), Communicator.DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new steam object with a preset WebAPI key, account associated with the key and transport configuration.
+     * Each endpoint may have up to half of <code>concurrency</code> requests in flight, so the other endpoints always keep the rest.
+     *
+     * @param key         the WebAPI key
+     * @param userId      the account associated with the key
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once
+     * @throws IllegalArgumentException if <code>transport == null</code> or <code>concurrency &lt; 1</code>
+     */
+    public Steam(String key, long userId, Transport transport, int concurrency) {
+        this(key == null ? new KeyPool() : new KeyPool(key), userId, transport, concurrency);
+    }
+
+    /**
+     * Creates a new steam object which spreads its calls across a pool of WebAPI keys.
+     * Each endpoint may have up to half of <code>concurrency</code> requests in flight, so the other endpoints always keep the rest.
+     *
+     * @param keyPool     the WebAPI keys to call with
+     * @param userId      the account associated with the keys
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once
+     * @throws IllegalArgumentException if <code>keyPool == null</code>, <code>transport == null</code> or <code>concurrency &lt; 1</code>
+     */
+    public Steam(KeyPool keyPool, long userId, Transport transport, int concurrency) {
+        this(keyPool, userId, transport, concurrency, Threading.PLATFORM);
+    }
+
+    /**
+     * Creates a new steam object which spreads its calls across a pool of WebAPI keys, sending requests on the specified kind of threads.
+     * With {@link Threading#VIRTUAL} each request runs on its own virtual thread where the JVM supports them, otherwise
+     * requests run on a fixed pool of <code>concurrency</code> platform threads.
+     * On platform threads each endpoint may have up to half of <code>concurrency</code> requests in flight, while on virtual threads
+     * endpoints are not capped.
+     *
+     * @param keyPool     the WebAPI keys to call with
+     * @param userId      the account associated with the keys
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once on platform threads
+     * @param threading   the kind of threads requests are sent on
+     * @throws IllegalArgumentException if <code>keyPool == null</code>, <code>transport == null</code>, <code>concurrency &lt; 1</code> or <code>threading == null</code>
+     */
+    public Steam(KeyPool keyPool, long userId, Transport transport, int concurrency, Threading threading) {
+        this(keyPool, userId, transport, concurrency, threading, Communicator.defaultBulkheads(concurrency, threading));
+    }
+
+    /**
+     * Creates a new steam object which spreads its calls across a pool of WebAPI keys, sending requests on the specified kind of threads
+     * with each endpoint isolated by its own bulkhead, such as capping market lookups so they cannot crowd out the WebAPI interfaces.
+     *
+     * @param keyPool     the WebAPI keys to call with
+     * @param userId      the account associated with the keys
+     * @param transport   the transport used to send requests to the Steam servers
+     * @param concurrency the maximum number of requests in flight at once on platform threads
+     * @param threading   the kind of threads requests are sent on
+     * @param bulkheads   the bulkheads bounding the requests in flight and waiting for each endpoint
+     * @throws IllegalArgumentException if <code>keyPool == null</code>, <code>transport == null</code>, <code>concurrency &lt; 1</code>,
+     *                                  <code>threading == null</code> or <code>bulkheads == null</code>
+     */
+    public Steam(KeyPool keyPool, long userId, Transport transport, int concurrency, Threading threading, Bulkheads bulkheads) {
+        if (keyPool == null)
+            throw new IllegalArgumentException();
+        this.keyPool = keyPool;
         this.userId = userId;
         this.parser = new DataParser();
-        this.communicator = new Communicator(this);
+        this.communicator = new Communicator(this, transport, concurrency, threading, bulkheads);
+        this.profileBatcher = new Batcher<>(MAX_USERS_PER_CALL, DEFAULT_BATCH_WINDOW, userIds -> getUserProfilesAsync(DataFormat.JSON, userIds), UserProfile::getUserId, communicator.getScheduler());
+        this.banHistoryBatcher = new Batcher<>(MAX_USERS_PER_CALL, DEFAULT_BATCH_WINDOW, userIds -> getBanHistoryAsync(DataFormat.JSON, userIds), BanHistory::getUserId, communicator.getScheduler());
         this.tradeService = new TradeService(this);
         this.marketService = new MarketService(this);
     }
@@ -86,20 +166,43 @@ public class Steam implements AutoCloseable {
 
     /**
      * The WebAPI key associated with a specific Steam account and domain name.
+     * If several keys are pooled, this is the first key added to the pool.
      *
-     * @return the current WebAPI key
+     * @return <code>null</code> if no key is pooled, the current WebAPI key otherwise
      */
     public String getAPIKey() {
-        return key;
+        List<KeyPool.Key> keys = keyPool.getKeys();
+        return keys.isEmpty() ? null : keys.get(0).getKey();
     }
 
     /**
-     * Updates the current WebAPI key.
+     * Updates the current WebAPI key, replacing any pooled keys.
      *
      * @param key the new WebAPI key
      */
     public void setAPIKey(String key) {
-        this.key = key;
+        this.keyPool = key == null ? new KeyPool() : new KeyPool(key);
+    }
+
+    /**
+     * The pool of WebAPI keys which calls are spread across.
+     *
+     * @return the WebAPI key pool
+     */
+    public KeyPool getKeyPool() {
+        return keyPool;
+    }
+
+    /**
+     * Updates the pool of WebAPI keys which calls are spread across.
+     *
+     * @param keyPool the new WebAPI key pool
+     * @throws IllegalArgumentException if <code>keyPool == null</code>
+     */
+    public void setKeyPool(KeyPool keyPool) {
+        if (keyPool == null)
+            throw new IllegalArgumentException();
+        this.keyPool = keyPool;
     }
 
     /**
@@ -120,6 +223,51 @@ public class Steam implements AutoCloseable {
         return marketService;
     }
 
+    /**
+     * The time single user profile and ban history lookups wait for other lookups to be batched with.
+     *
+     * @param unit the unit of the returned time
+     * @return the batch window
+     */
+    public long getBatchWindow(TimeUnit unit) {
+        return unit.convert(profileBatcher.getWindow(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Updates the time single user profile and ban history lookups wait for other lookups to be batched with.
+     * Lookups made within the window are combined into a single call of up to 100 users.
+     *
+     * @param window the batch window, <code>0</code> to send each lookup on its own
+     * @param unit   the unit of the window
+     */
+    public void setBatchWindow(long window, TimeUnit unit) {
+        long nanos = unit.toNanos(window);
+        profileBatcher.setWindow(nanos);
+        banHistoryBatcher.setWindow(nanos);
+    }
+
+    /**
+     * The time each call has to complete before failing with a {@link DeadlineExceededException}.
+     *
+     * @param unit the unit of the returned time
+     * @return the call timeout
+     */
+    public long getTimeout(TimeUnit unit) {
+        return communicator.getTimeout(unit);
+    }
+
+    /**
+     * Updates the time each call has to complete before failing with a {@link DeadlineExceededException}.
+     * Every call gets its own deadline when it is made, which also bounds the socket timeouts of the requests sent for it.
+     *
+     * @param timeout the new call timeout
+     * @param unit    the unit of the timeout
+     * @throws IllegalArgumentException if <code>timeout &lt;= 0</code> or <code>unit == null</code>
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+        communicator.setTimeout(timeout, unit);
+    }
+
     /**
      * The current user associated with the WebAPI key.
      * This will correspond to a trade bot or some sort of mule in which other client accounts interact with.
@@ -182,7 +330,30 @@ public class Steam implements AutoCloseable {
      * @return the latest game news for the specified game
      */
     public GameNews getGameNews(long gameId, int count, int maxLength, DataFormat format) {
-        return getDataParser().build(GameNews.class, getCommunicator().retrieve(Method.GET_GAME_NEWS, format, gameId, count, maxLength), format);
+        return getCommunicator().retrieve(GameNews.class, Method.GET_GAME_NEWS, format, gameId, count, maxLength);
+    }
+
+    /**
+     * Asynchronously retrieves the latest game news for a specific game up to 100 entries of size 32,767 using a JSON format.
+     *
+     * @param gameId the identifier for the game in which to grab news for
+     * @return a future completed with the latest game news for the specified game
+     */
+    public CompletableFuture<GameNews> getGameNewsAsync(long gameId) {
+        return getGameNewsAsync(gameId, 1000, Short.MAX_VALUE, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the latest game news for a specific game.
+     *
+     * @param gameId    the identifier for the game in which to grab news for
+     * @param count     the number of entries to retrieve
+     * @param maxLength the maximum length of each news entry
+     * @param format    the format in which to retrieve the data in
+     * @return a future completed with the latest game news for the specified game
+     */
+    public CompletableFuture<GameNews> getGameNewsAsync(long gameId, int count, int maxLength, DataFormat format) {
+        return getCommunicator().retrieveAsync(GameNews.class, Method.GET_GAME_NEWS, format, gameId, count, maxLength);
     }
 
     /**
@@ -203,7 +374,28 @@ public class Steam implements AutoCloseable {
      * @return the global game achievement percentages for the specified game
      */
     public GameAchievementPercentages getGlobalGameAchievementPercentages(long gameId, DataFormat format) {
-        return getDataParser().build(GameAchievementPercentages.class, getCommunicator().retrieve(Method.GET_GLOBAL_GAME_ACHIEVEMENT_PERCENTAGES, format, gameId), format);
+        return getCommunicator().retrieve(GameAchievementPercentages.class, Method.GET_GLOBAL_GAME_ACHIEVEMENT_PERCENTAGES, format, gameId);
+    }
+
+    /**
+     * Asynchronously retrieves all global game achievement percentages for a specific game using a JSON format.
+     *
+     * @param gameId the identifier for the game in which to grab achievement percentages
+     * @return a future completed with the global game achievement percentages for the specified game
+     */
+    public CompletableFuture<GameAchievementPercentages> getGlobalGameAchievementPercentagesAsync(long gameId) {
+        return getGlobalGameAchievementPercentagesAsync(gameId, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves all global game achievement percentages for a specific game.
+     *
+     * @param gameId the identifier for the game in which to grab achievement percentages
+     * @param format the format in which to retrieve the data in
+     * @return a future completed with the global game achievement percentages for the specified game
+     */
+    public CompletableFuture<GameAchievementPercentages> getGlobalGameAchievementPercentagesAsync(long gameId, DataFormat format) {
+        return getCommunicator().retrieveAsync(GameAchievementPercentages.class, Method.GET_GLOBAL_GAME_ACHIEVEMENT_PERCENTAGES, format, gameId);
     }
 
     /**
@@ -226,7 +418,19 @@ public class Steam implements AutoCloseable {
      * @return the global game stats for the specified achievements
      */
     public GameStats getGlobalGameStats(long gameId, DataFormat format, String... achievementNames) {
-        return achievementNames == null ? null : getDataParser().build(GameStats.class, getCommunicator().retrieve(Method.GET_GLOBAL_GAME_STATS, format, gameId, achievementNames.length, achievementNames), format);
+        return achievementNames == null ? null : getCommunicator().retrieve(GameStats.class, Method.GET_GLOBAL_GAME_STATS, format, gameId, achievementNames.length, achievementNames);
+    }
+
+    /**
+     * Asynchronously retrieves the global game stats for a specific game.
+     *
+     * @param gameId           the identifier for the game in which to grab game stats
+     * @param format           the format in which to retrieve the data in
+     * @param achievementNames the names of all the achievements to grab stats for
+     * @return a future completed with the global game stats for the specified achievements
+     */
+    public CompletableFuture<GameStats> getGlobalGameStatsAsync(long gameId, DataFormat format, String... achievementNames) {
+        return achievementNames == null ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(GameStats.class, Method.GET_GLOBAL_GAME_STATS, format, gameId, achievementNames.length, achievementNames);
     }
 
     /**
@@ -266,10 +470,33 @@ public class Steam implements AutoCloseable {
      * @return the profile for the specified user
      */
     public UserProfile getUserProfile(DataFormat format, long userId) {
+        return userId == -1 ? null : Communicator.await(getUserProfileAsync(format, userId));
+    }
+
+    /**
+     * Asynchronously retrieves the user profile of the specified user using a JSON format.
+     *
+     * @param userId the identifiers for the user to lookup the profile for
+     * @return a future completed with the profile for the specified user
+     */
+    public CompletableFuture<UserProfile> getUserProfileAsync(long userId) {
+        return getUserProfileAsync(DataFormat.JSON, userId);
+    }
+
+    /**
+     * Asynchronously retrieves the user profile of the specified user.
+     * JSON lookups are batched with other single user lookups made within the batch window.
+     *
+     * @param format the format in which to retrieve the data in
+     * @param userId the identifiers for the user to lookup the profile for
+     * @return a future completed with the profile for the specified user
+     */
+    public CompletableFuture<UserProfile> getUserProfileAsync(DataFormat format, long userId) {
         if (userId == -1)
-            return null;
-        UserProfile[] profiles = getUserProfiles(format, userId);
-        return profiles == null || profiles.length != 1 ? null : profiles[0];
+            return CompletableFuture.completedFuture(null);
+        if (format == null || format == DataFormat.JSON)
+            return profileBatcher.get(userId);
+        return getUserProfilesAsync(format, userId).thenApply(profiles -> profiles == null || profiles.length != 1 ? null : profiles[0]);
     }
 
     /**
@@ -290,7 +517,29 @@ public class Steam implements AutoCloseable {
      * @return the profiles for the specified users
      */
     public UserProfile[] getUserProfiles(DataFormat format, long... userIds) {
-        return userIds == null ? null : userIds.length == 0 ? new UserProfile[0] : getDataParser().build(UserProfile[].class, getCommunicator().retrieve(Method.GET_USER_PROFILES, format, new Object[]{userIds}), format);
+        return userIds == null ? null : userIds.length == 0 ? new UserProfile[0] : Communicator.await(getUserProfilesAsync(format, userIds));
+    }
+
+    /**
+     * Asynchronously retrieves the user profiles of all the specified users using a JSON format.
+     *
+     * @param userIds the identifiers for all the users to lookup profiles for
+     * @return a future completed with the profiles for the specified users
+     */
+    public CompletableFuture<UserProfile[]> getUserProfilesAsync(long... userIds) {
+        return getUserProfilesAsync(DataFormat.JSON, userIds);
+    }
+
+    /**
+     * Asynchronously retrieves the user profiles of all the specified users.
+     * More than 100 users are split into several calls which are sent concurrently.
+     *
+     * @param format  the format in which to retrieve the data in
+     * @param userIds the identifiers for all the users to lookup profiles for
+     * @return a future completed with the profiles for the specified users
+     */
+    public CompletableFuture<UserProfile[]> getUserProfilesAsync(DataFormat format, long... userIds) {
+        return userIds == null ? CompletableFuture.completedFuture(null) : userIds.length == 0 ? CompletableFuture.completedFuture(new UserProfile[0]) : retrieveUsersAsync(UserProfile[].class, Method.GET_USER_PROFILES, format, userIds, UserProfile::getUserId);
     }
 
     /**
@@ -352,7 +601,29 @@ public class Steam implements AutoCloseable {
      * @return the friends list of the specified user
      */
     public Friend[] getFriendList(long userId, Relationship relationship, DataFormat format) {
-        return userId == -1 || relationship == null ? null : getDataParser().build(Friend[].class, getCommunicator().retrieve(Method.GET_FRIENDS_LIST, format, userId, relationship.getToken()), format);
+        return userId == -1 || relationship == null ? null : getCommunicator().retrieve(Friend[].class, Method.GET_FRIENDS_LIST, format, userId, relationship.getToken());
+    }
+
+    /**
+     * Asynchronously retrieves the friends list consisting of all applicable friends for a specific user using a JSON format.
+     *
+     * @param userId the identifier for the user to retrieve friends for
+     * @return a future completed with the friends list of the specified user
+     */
+    public CompletableFuture<Friend[]> getFriendListAsync(long userId) {
+        return getFriendListAsync(userId, Relationship.ALL, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the friends list for a specific user.
+     *
+     * @param userId       the identifier for the user to retrieve friends for
+     * @param relationship the relationship of the users to retrieve
+     * @param format       the format in which to retrieve the data in
+     * @return a future completed with the friends list of the specified user
+     */
+    public CompletableFuture<Friend[]> getFriendListAsync(long userId, Relationship relationship, DataFormat format) {
+        return userId == -1 || relationship == null ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(Friend[].class, Method.GET_FRIENDS_LIST, format, userId, relationship.getToken());
     }
 
     /**
@@ -443,7 +714,31 @@ public class Steam implements AutoCloseable {
      * @return the current game achievements of a user
      */
     public UserAchievements getUserAchievements(long userId, long gameId, Language language, DataFormat format) {
-        return getDataParser().build(UserAchievements.class, getCommunicator().retrieve(Method.GET_USER_ACHIEVEMENTS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken()), format);
+        return getCommunicator().retrieve(UserAchievements.class, Method.GET_USER_ACHIEVEMENTS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken());
+    }
+
+    /**
+     * Asynchronously retrieves the current user achievements for a specific game using a JSON format and English.
+     *
+     * @param userId the identifier for the user to find game stats for
+     * @param gameId the identifier for the game to find stats for
+     * @return a future completed with the current game achievements of a user
+     */
+    public CompletableFuture<UserAchievements> getUserAchievementsAsync(long userId, long gameId) {
+        return getUserAchievementsAsync(userId, gameId, Language.ENGLISH, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the current user achievements for a specific game.
+     *
+     * @param userId   the identifier for the user to find game stats for
+     * @param gameId   the identifier for the game to find stats for
+     * @param language the language of the the game stats
+     * @param format   the format in which to retrieve data in
+     * @return a future completed with the current game achievements of a user
+     */
+    public CompletableFuture<UserAchievements> getUserAchievementsAsync(long userId, long gameId, Language language, DataFormat format) {
+        return getCommunicator().retrieveAsync(UserAchievements.class, Method.GET_USER_ACHIEVEMENTS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken());
     }
 
     /**
@@ -512,7 +807,31 @@ public class Steam implements AutoCloseable {
      * @return the current game stats of a user
      */
     public UserGameStats getUserGameStats(long userId, long gameId, Language language, DataFormat format) {
-        return userId == -1 || gameId == -1 ? null : getDataParser().build(UserGameStats.class, getCommunicator().retrieve(Method.GET_USER_GAME_STATS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken()), format);
+        return userId == -1 || gameId == -1 ? null : getCommunicator().retrieve(UserGameStats.class, Method.GET_USER_GAME_STATS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken());
+    }
+
+    /**
+     * Asynchronously retrieves the current stats of a user for a specific game using a JSON format in English.
+     *
+     * @param userId the identifier for the user to find game stats for
+     * @param gameId the identifier for the game to find stats for
+     * @return a future completed with the current game stats of a user
+     */
+    public CompletableFuture<UserGameStats> getUserGameStatsAsync(long userId, long gameId) {
+        return getUserGameStatsAsync(userId, gameId, Language.ENGLISH, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the current stats of a user for a specific game.
+     *
+     * @param userId   the identifier for the user to find game stats for
+     * @param gameId   the identifier for the game to find stats for
+     * @param language the language of the the game stats
+     * @param format   the format in which to retrieve data in
+     * @return a future completed with the current game stats of a user
+     */
+    public CompletableFuture<UserGameStats> getUserGameStatsAsync(long userId, long gameId, Language language, DataFormat format) {
+        return userId == -1 || gameId == -1 ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(UserGameStats.class, Method.GET_USER_GAME_STATS, format, userId, gameId, (language == null ? Language.ENGLISH : language).getToken());
     }
 
     /**
@@ -600,7 +919,30 @@ public class Steam implements AutoCloseable {
      * @return the owned games for the specified user
      */
     public Game[] getOwnedGames(long userId, boolean includeGameInfo, boolean includePlayedFreeGames, DataFormat format) {
-        return userId == -1 ? null : getDataParser().build(Game[].class, getCommunicator().retrieve(Method.GET_OWNED_GAMES, format, userId, includeGameInfo, includePlayedFreeGames), format);
+        return userId == -1 ? null : getCommunicator().retrieve(Game[].class, Method.GET_OWNED_GAMES, format, userId, includeGameInfo, includePlayedFreeGames);
+    }
+
+    /**
+     * Asynchronously retrieves all the owned games for a specific user including all game info and played free games using a JSON format.
+     *
+     * @param userId the identifier for the user the games belong to
+     * @return a future completed with the owned games for the specified user
+     */
+    public CompletableFuture<Game[]> getOwnedGamesAsync(long userId) {
+        return getOwnedGamesAsync(userId, true, true, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves all the owned games for a specific user.
+     *
+     * @param userId                 the identifier for the user the games belong to
+     * @param includeGameInfo        whether or not to include game info
+     * @param includePlayedFreeGames whether or not to include played free games
+     * @param format                 the format in which to retrieve data in
+     * @return a future completed with the owned games for the specified user
+     */
+    public CompletableFuture<Game[]> getOwnedGamesAsync(long userId, boolean includeGameInfo, boolean includePlayedFreeGames, DataFormat format) {
+        return userId == -1 ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(Game[].class, Method.GET_OWNED_GAMES, format, userId, includeGameInfo, includePlayedFreeGames);
     }
 
     /**
@@ -684,7 +1026,29 @@ public class Steam implements AutoCloseable {
      * @return the recently played games for a specific user
      */
     public Game[] getRecentlyPlayedGames(long userId, int gameLimit, DataFormat format) {
-        return userId == -1 || gameLimit == -1 ? null : getDataParser().build(Game[].class, getCommunicator().retrieve(Method.GET_RECENTLY_PLAYED_GAMES, format, userId, gameLimit), format);
+        return userId == -1 || gameLimit == -1 ? null : getCommunicator().retrieve(Game[].class, Method.GET_RECENTLY_PLAYED_GAMES, format, userId, gameLimit);
+    }
+
+    /**
+     * Asynchronously retrieves the recently played games for a specific user using a JSON format up to 1000 games.
+     *
+     * @param userId the identifier for the user to get recently played games for
+     * @return a future completed with the recently played games for a specific user
+     */
+    public CompletableFuture<Game[]> getRecentlyPlayedGamesAsync(long userId) {
+        return getRecentlyPlayedGamesAsync(userId, 1000, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the recently played games for a specific user.
+     *
+     * @param userId    the identifier for the user to get recently played games for
+     * @param gameLimit the limit of games to retrieve
+     * @param format    the format in which to retrieve the data in
+     * @return a future completed with the recently played games for a specific user
+     */
+    public CompletableFuture<Game[]> getRecentlyPlayedGamesAsync(long userId, int gameLimit, DataFormat format) {
+        return userId == -1 || gameLimit == -1 ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(Game[].class, Method.GET_RECENTLY_PLAYED_GAMES, format, userId, gameLimit);
     }
 
     /**
@@ -728,7 +1092,7 @@ public class Steam implements AutoCloseable {
      * @return the identifier for the real owner of the shared game the user is playing
      */
     public long getSharedGameOwner(long userPlayingId, long gameId, DataFormat format) {
-        return userPlayingId == -1 || gameId == -1 ? -1 : getDataParser().build(Long.class, getCommunicator().retrieve(Method.GET_SHARED_GAME_OWNER, format, userPlayingId, gameId), format);
+        return userPlayingId == -1 || gameId == -1 ? -1 : getCommunicator().retrieve(Long.class, Method.GET_SHARED_GAME_OWNER, format, userPlayingId, gameId);
     }
 
     /**
@@ -749,7 +1113,28 @@ public class Steam implements AutoCloseable {
      * @return the game schema for the specified game
      */
     public GameSchema getGameSchema(long gameId, DataFormat format) {
-        return gameId == -1 ? null : getDataParser().build(GameSchema.class, getCommunicator().retrieve(Method.GET_GAME_SCHEMA, format, gameId), format);
+        return gameId == -1 ? null : getCommunicator().retrieve(GameSchema.class, Method.GET_GAME_SCHEMA, format, gameId);
+    }
+
+    /**
+     * Asynchronously retrieves the game schema for the specified game using a JSON format.
+     *
+     * @param gameId the identifier for the game to retrieve the schema of
+     * @return a future completed with the game schema for the specified game
+     */
+    public CompletableFuture<GameSchema> getGameSchemaAsync(long gameId) {
+        return getGameSchemaAsync(gameId, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the game schema for the specified game.
+     *
+     * @param gameId the identifier for the game to retrieve the schema of
+     * @param format the format in which to retrieve the data in
+     * @return a future completed with the game schema for the specified game
+     */
+    public CompletableFuture<GameSchema> getGameSchemaAsync(long gameId, DataFormat format) {
+        return gameId == -1 ? CompletableFuture.completedFuture(null) : getCommunicator().retrieveAsync(GameSchema.class, Method.GET_GAME_SCHEMA, format, gameId);
     }
 
     /**
@@ -789,10 +1174,33 @@ public class Steam implements AutoCloseable {
      * @return the ban history of the specified user
      */
     public BanHistory getBanHistory(long userId, DataFormat format) {
+        return userId == -1 ? null : Communicator.await(getBanHistoryAsync(userId, format));
+    }
+
+    /**
+     * Asynchronously retrieves the ban history of the specified user using a JSON format.
+     *
+     * @param userId the identifier of the user to lookup a ban history for
+     * @return a future completed with the ban history of the specified user
+     */
+    public CompletableFuture<BanHistory> getBanHistoryAsync(long userId) {
+        return getBanHistoryAsync(userId, DataFormat.JSON);
+    }
+
+    /**
+     * Asynchronously retrieves the ban history of the specified user.
+     * JSON lookups are batched with other single user lookups made within the batch window.
+     *
+     * @param userId the identifier of the user to lookup a ban history for
+     * @param format the format in which to retrieve the data in
+     * @return a future completed with the ban history of the specified user
+     */
+    public CompletableFuture<BanHistory> getBanHistoryAsync(long userId, DataFormat format) {
         if (userId == -1)
-            return null;
-        BanHistory[] histories = getBanHistory(format, userId);
-        return histories == null || histories.length != 1 ? null : histories[0];
+            return CompletableFuture.completedFuture(null);
+        if (format == null || format == DataFormat.JSON)
+            return banHistoryBatcher.get(userId);
+        return getBanHistoryAsync(format, userId).thenApply(histories -> histories == null || histories.length != 1 ? null : histories[0]);
     }
 
     /**
@@ -813,7 +1221,67 @@ public class Steam implements AutoCloseable {
      * @return the ban history of the specified users
      */
     public BanHistory[] getBanHistory(DataFormat format, long... userIds) {
-        return userIds == null ? null : userIds.length == 0 ? new BanHistory[0] : getDataParser().build(BanHistory[].class, getCommunicator().retrieve(Method.GET_USER_BAN_HISTORY, format, new Object[]{userIds}), format);
+        return userIds == null ? null : userIds.length == 0 ? new BanHistory[0] : Communicator.await(getBanHistoryAsync(format, userIds));
+    }
+
+    /**
+     * Asynchronously retrieves the ban history of the specified users using a JSON format.
+     *
+     * @param userIds the identifiers of the users to lookup ban histories for
+     * @return a future completed with the ban history of the specified users
+     */
+    public CompletableFuture<BanHistory[]> getBanHistoryAsync(long... userIds) {
+        return getBanHistoryAsync(DataFormat.JSON, userIds);
+    }
+
+    /**
+     * Asynchronously retrieves the ban history of the specified users.
+     * More than 100 users are split into several calls which are sent concurrently.
+     *
+     * @param userIds the identifiers of the users to lookup ban histories for
+     * @param format  the format in which to retrieve the data in
+     * @return a future completed with the ban history of the specified users
+     */
+    public CompletableFuture<BanHistory[]> getBanHistoryAsync(DataFormat format, long... userIds) {
+        return userIds == null ? CompletableFuture.completedFuture(null) : userIds.length == 0 ? CompletableFuture.completedFuture(new BanHistory[0]) : retrieveUsersAsync(BanHistory[].class, Method.GET_USER_BAN_HISTORY, format, userIds, BanHistory::getUserId);
+    }
+
+    /**
+     * Asynchronously retrieves the values for a list of users from a Steam WebAPI method accepting up to 100 users per call.
+     * Longer lists are split into chunks of 100 users which are sent concurrently.
+     * The values are ordered the same as the users, with one value for each distinct user however many times it is listed.
+     *
+     * @param model      the model array class
+     * @param method     the method to call with the Steam WebAPI
+     * @param format     the format in which to retrieve the data in
+     * @param userIds    the identifiers of the users
+     * @param identifier the function which reads the user identifier of a retrieved value
+     * @param <T>        the type of value retrieved for each user
+     * @return a future completed with the values for the users, <code>null</code> if any chunk could not be retrieved
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T[]> retrieveUsersAsync(final Class<T[]> model, Method method, DataFormat format, final long[] userIds, final ToLongFunction<T> identifier) {
+        final List<CompletableFuture<T[]>> chunks = new ArrayList<>();
+        for (int i = 0; i < userIds.length; i += MAX_USERS_PER_CALL)
+            chunks.add(getCommunicator().retrieveAsync(model, method, format, new Object[]{Arrays.copyOfRange(userIds, i, Math.min(userIds.length, i + MAX_USERS_PER_CALL))}));
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[chunks.size()])).thenApply(ignored -> {
+            Map<Long, T> values = new HashMap<>();
+            for (CompletableFuture<T[]> chunk : chunks) {
+                T[] chunkValues = chunk.join();
+                if (chunkValues == null)
+                    return null;
+                for (T value : chunkValues)
+                    if (value != null)
+                        values.put(identifier.applyAsLong(value), value);
+            }
+            List<T> ordered = new ArrayList<>(values.size());
+            for (long userId : userIds) {
+                T value = values.remove(userId);
+                if (value != null)
+                    ordered.add(value);
+            }
+            return ordered.toArray((T[]) Array.newInstance(model.getComponentType(), ordered.size()));
+        });
     }
 
     /**
@@ -0,0 +1,22 @@
+package com.iancaffey.steam;
+
+/**
+ * Threading
+ * <p>
+ * The kind of threads requests to the Steam API are sent on.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public enum Threading {
+    /**
+     * Requests are sent on a fixed pool of platform threads, one thread per concurrent request.
+     */
+    PLATFORM,
+    /**
+     * Requests are each sent on their own virtual thread, so tens of thousands of requests can be outstanding without sizing
+     * a thread pool. Virtual threads require Java 21, and older JVMs fall back to {@link #PLATFORM}.
+     * The number of simultaneous connections is still bounded by the transport.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,128 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Priority;
+
+/**
+ * Bulkhead
+ * <p>
+ * An object which bounds the number of requests of a single compartment, such as one Steam WebAPI interface, that may be in flight
+ * or waiting at once. Requests over the concurrency bound wait in line by priority without holding a thread, and requests
+ * arriving once the line is full are refused, so a burst of slow requests to one compartment cannot take every communication thread.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final DispatchQueue waiting = new DispatchQueue();
+    private int inFlight;
+    private long rejectedCount;
+
+    /**
+     * Creates a new bulkhead.
+     *
+     * @param maxConcurrent the maximum number of requests in flight at once
+     * @param maxWaiting    the maximum number of requests waiting for room, <code>0</code> to refuse requests once the bulkhead is busy
+     * @throws IllegalArgumentException if <code>maxConcurrent &lt; 1</code> or <code>maxWaiting &lt; 0</code>
+     */
+    public Bulkhead(int maxConcurrent, int maxWaiting) {
+        if (maxConcurrent < 1 || maxWaiting < 0)
+            throw new IllegalArgumentException();
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * The maximum number of requests in flight at once.
+     *
+     * @return the concurrency bound
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * The maximum number of requests waiting for room.
+     *
+     * @return the waiting bound
+     */
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    /**
+     * The current number of requests in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * The current number of requests waiting for room.
+     *
+     * @return the number of waiting requests
+     */
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * The number of requests refused because the bulkhead was full.
+     *
+     * @return the number of refused requests
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Waits for room to send a request, without blocking.
+     * The permit is handed to the callback immediately if the bulkhead is under its concurrency bound, otherwise once an earlier
+     * request completes and no request of a higher priority is waiting. Every permit must be given back with {@link #release()}.
+     *
+     * @param priority the priority of the request
+     * @param permit   the callback run once the request may be sent
+     * @return <code>true</code> if the request was admitted, <code>false</code> if the bulkhead is full and the callback will never run
+     * @throws IllegalArgumentException if <code>priority == null</code> or <code>permit == null</code>
+     */
+    public boolean acquire(Priority priority, Runnable permit) {
+        if (priority == null || permit == null)
+            throw new IllegalArgumentException();
+        synchronized (this) {
+            if (inFlight >= maxConcurrent) {
+                if (waiting.size() >= maxWaiting) {
+                    rejectedCount++;
+                    return false;
+                }
+                waiting.add(priority, permit);
+                return true;
+            }
+            inFlight++;
+        }
+        permit.run();
+        return true;
+    }
+
+    /**
+     * Gives back a permit, handing it to the next waiting request if there is one.
+     */
+    public void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        next.run();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Bulkhead[inFlight=" + inFlight + "/" + maxConcurrent + ", waiting=" + waiting.size() + "/" + maxWaiting + ", rejected=" + rejectedCount + "]";
+    }
+}
@@ -0,0 +1,92 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bulkheads
+ * <p>
+ * An object which keeps a bulkhead for every endpoint, so each Steam WebAPI interface and each family of Steam Community pages
+ * has its own bounded concurrency and waiting line. A burst of slow market lookups then fills the market bulkhead and is refused
+ * there, while calls to the other interfaces keep their share of the communication threads.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Bulkheads {
+    /**
+     * The status reported for a request refused by a full bulkhead.
+     */
+    public static final int BULKHEAD_FULL = -3;
+    public static final int DEFAULT_MAX_WAITING = 1024;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final ConcurrentMap<Endpoint, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates bulkheads which each let an endpoint have a number of requests in flight and up to {@link #DEFAULT_MAX_WAITING} waiting.
+     *
+     * @param maxConcurrent the maximum number of requests in flight at once to each endpoint
+     * @throws IllegalArgumentException if <code>maxConcurrent &lt; 1</code>
+     */
+    public Bulkheads(int maxConcurrent) {
+        this(maxConcurrent, DEFAULT_MAX_WAITING);
+    }
+
+    /**
+     * Creates bulkheads with the same bounds for every endpoint, which may be overridden with {@link #setLimits(Endpoint, int, int)}.
+     *
+     * @param maxConcurrent the maximum number of requests in flight at once to each endpoint
+     * @param maxWaiting    the maximum number of requests waiting for room at each endpoint
+     * @throws IllegalArgumentException if <code>maxConcurrent &lt; 1</code> or <code>maxWaiting &lt; 0</code>
+     */
+    public Bulkheads(int maxConcurrent, int maxWaiting) {
+        //Validates the bounds before any bulkhead is created
+        new Bulkhead(maxConcurrent, maxWaiting);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+    }
+
+    /**
+     * The bulkhead of an endpoint, created with the default bounds the first time it is needed.
+     *
+     * @param endpoint the endpoint
+     * @return the bulkhead of the endpoint
+     * @throws IllegalArgumentException if <code>endpoint == null</code>
+     */
+    public Bulkhead getBulkhead(Endpoint endpoint) {
+        if (endpoint == null)
+            throw new IllegalArgumentException();
+        return bulkheads.computeIfAbsent(endpoint, ignored -> new Bulkhead(maxConcurrent, maxWaiting));
+    }
+
+    /**
+     * Updates the bounds of an endpoint, such as giving the Steam Community market a smaller share than the WebAPI interfaces.
+     * Requests already admitted by the previous bulkhead of the endpoint complete against it.
+     *
+     * @param endpoint      the endpoint
+     * @param maxConcurrent the maximum number of requests in flight at once to the endpoint
+     * @param maxWaiting    the maximum number of requests waiting for room at the endpoint
+     * @return the bulkheads, for chaining
+     * @throws IllegalArgumentException if <code>endpoint == null</code>, <code>maxConcurrent &lt; 1</code> or <code>maxWaiting &lt; 0</code>
+     */
+    public Bulkheads setLimits(Endpoint endpoint, int maxConcurrent, int maxWaiting) {
+        if (endpoint == null)
+            throw new IllegalArgumentException();
+        bulkheads.put(endpoint, new Bulkhead(maxConcurrent, maxWaiting));
+        return this;
+    }
+
+    /**
+     * The bulkheads of every endpoint requests have been sent to or bounds were set for.
+     *
+     * @return the bulkhead of each endpoint
+     */
+    public Map<Endpoint, Bulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+}
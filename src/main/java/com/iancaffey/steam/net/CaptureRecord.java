@@ -0,0 +1,140 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.RequestMethod;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CaptureRecord
+ * <p>
+ * A single captured request and response, as written by a {@link RecordingTransport} and served by a {@link ReplayTransport}.
+ * Records are written back to back in a binary format, so a capture file can be appended to by several runs.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+class CaptureRecord {
+    private static final int MAGIC = 0x53544D31;
+    private static final String REDACTED = "REDACTED";
+    final long timestamp;
+    final RequestMethod requestMethod;
+    final String url;
+    final int status;
+    final long latency;
+    final Map<String, List<String>> headers;
+    final byte[] body;
+
+    CaptureRecord(long timestamp, RequestMethod requestMethod, String url, int status, long latency, Map<String, List<String>> headers, byte[] body) {
+        this.timestamp = timestamp;
+        this.requestMethod = requestMethod;
+        this.url = url;
+        this.status = status;
+        this.latency = latency;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Writes the record to a capture file.
+     *
+     * @param out the capture file stream
+     * @throws IOException if unable to write the record
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(timestamp);
+        out.writeUTF(requestMethod.name());
+        out.writeUTF(url);
+        out.writeInt(status);
+        out.writeLong(latency);
+        out.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeInt(header.getValue().size());
+            for (String value : header.getValue())
+                out.writeUTF(value);
+        }
+        out.writeInt(body == null ? -1 : body.length);
+        if (body != null)
+            out.write(body);
+    }
+
+    /**
+     * Reads the next record from a capture file.
+     *
+     * @param in the capture file stream
+     * @return <code>null</code> if the end of the file has been reached, the next record otherwise
+     * @throws IOException if the file is corrupt or unable to be read
+     */
+    static CaptureRecord read(DataInputStream in) throws IOException {
+        int magic;
+        try {
+            magic = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (magic != MAGIC)
+            throw new IOException("Not a capture record");
+        long timestamp = in.readLong();
+        RequestMethod requestMethod = RequestMethod.valueOf(in.readUTF());
+        String url = in.readUTF();
+        int status = in.readInt();
+        long latency = in.readLong();
+        int headerCount = in.readInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = in.readUTF();
+            int valueCount = in.readInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++)
+                values.add(in.readUTF());
+            headers.put(name, Collections.unmodifiableList(values));
+        }
+        int length = in.readInt();
+        byte[] body = null;
+        if (length >= 0) {
+            body = new byte[length];
+            in.readFully(body);
+        }
+        return new CaptureRecord(timestamp, requestMethod, url, status, latency, headers, body);
+    }
+
+    /**
+     * Replaces the WebAPI key in a url so captures can be shared without leaking it.
+     *
+     * @param url the url
+     * @return the url with its WebAPI key redacted
+     */
+    static String redact(String url) {
+        int start = url.indexOf("?key=");
+        if (start == -1)
+            start = url.indexOf("&key=");
+        if (start == -1)
+            return url;
+        start += 5;
+        int end = url.indexOf('&', start);
+        return url.substring(0, start) + REDACTED + (end == -1 ? "" : url.substring(end));
+    }
+
+    /**
+     * Identifies a request independently of the host it was sent to and the WebAPI key it used.
+     *
+     * @param requestMethod the request method
+     * @param url           the request url
+     * @return the key used to match a replayed request to its captured response
+     */
+    static String match(RequestMethod requestMethod, String url) {
+        url = redact(url);
+        int start = url.indexOf("://");
+        start = url.indexOf('/', start < 0 ? 0 : start + 3);
+        return requestMethod.name() + ' ' + (start < 0 ? "/" : url.substring(start));
+    }
+}
@@ -0,0 +1,196 @@
+package com.iancaffey.steam.net;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CircuitBreaker
+ * <p>
+ * An object which stops requests to a failing part of Steam so they fail fast instead of waiting on timeouts.
+ * The breaker tracks the outcome of the most recent requests and opens once enough of them have failed or been too slow.
+ * After staying open for a while it lets probe requests through, closing again once the probes succeed.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class CircuitBreaker {
+    /**
+     * The states a circuit breaker moves between.
+     */
+    public enum State {
+        /**
+         * Requests are sent and their outcomes tracked.
+         */
+        CLOSED,
+        /**
+         * Requests are refused until the open duration has passed.
+         */
+        OPEN,
+        /**
+         * A limited number of probe requests are sent to decide whether to close or open again.
+         */
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallDuration;
+    private final long openDuration;
+    private final int probes;
+    private final boolean[] window;
+    private final AtomicLong rejected = new AtomicLong();
+    private State state = State.CLOSED;
+    private int index;
+    private int calls;
+    private int failures;
+    private long changed = System.nanoTime();
+    private int probesSent;
+    private int probesSucceeded;
+    private long opened;
+
+    /**
+     * Creates a new circuit breaker with the specified characteristics.
+     *
+     * @param windowSize           the number of recent requests whose outcomes are tracked
+     * @param minimumCalls         the number of tracked requests required before the breaker may open
+     * @param failureRateThreshold the fraction of failed or slow tracked requests at which the breaker opens
+     * @param slowCallDuration     the time after which a successful request is counted as a failure
+     * @param openDuration         the time the breaker stays open before probing
+     * @param probes               the number of successful probes required to close the breaker
+     * @param unit                 the unit of the durations
+     * @throws IllegalArgumentException if any count is less than <code>1</code>, <code>minimumCalls &gt; windowSize</code>,
+     *                                  the threshold is not within <code>(0, 1]</code> or <code>unit == null</code>
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallDuration, long openDuration, int probes, TimeUnit unit) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || failureRateThreshold <= 0 || failureRateThreshold > 1 ||
+                slowCallDuration < 0 || openDuration < 0 || probes < 1 || unit == null)
+            throw new IllegalArgumentException();
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = unit.toNanos(slowCallDuration);
+        this.openDuration = unit.toNanos(openDuration);
+        this.probes = probes;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Asks the breaker whether a request may be sent.
+     * Every permitted request must have its outcome recorded, or be given back with {@link #release()}.
+     *
+     * @return <code>true</code> if the request may be sent, <code>false</code> if it should fail fast
+     */
+    public boolean allow() {
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (state == State.CLOSED)
+                return true;
+            if (state == State.OPEN && now - changed >= openDuration)
+                transition(State.HALF_OPEN, now);
+            if (state == State.HALF_OPEN) {
+                //Probes whose outcomes never arrived are replaced once they have been outstanding for the open duration
+                if (probesSent >= probes && now - changed >= openDuration)
+                    transition(State.HALF_OPEN, now);
+                if (probesSent < probes) {
+                    probesSent++;
+                    return true;
+                }
+            }
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Gives back the permission of a request which was not sent after all, or whose outcome says nothing about the health of Steam,
+     * so a probe slot it took can be used by another request.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesSent > probesSucceeded)
+            probesSent--;
+    }
+
+    /**
+     * Records the outcome of a permitted request.
+     *
+     * @param failed  whether or not the request failed
+     * @param latency the time in nanoseconds the request took
+     */
+    public synchronized void record(boolean failed, long latency) {
+        boolean failure = failed || latency > slowCallDuration;
+        long now = System.nanoTime();
+        switch (state) {
+            case HALF_OPEN:
+                if (failure)
+                    transition(State.OPEN, now);
+                else if (++probesSucceeded >= probes)
+                    transition(State.CLOSED, now);
+                break;
+            case CLOSED:
+                if (calls == windowSize && window[index])
+                    failures--;
+                else if (calls < windowSize)
+                    calls++;
+                window[index] = failure;
+                if (failure)
+                    failures++;
+                index = (index + 1) % windowSize;
+                if (calls >= minimumCalls && failures >= failureRateThreshold * calls)
+                    transition(State.OPEN, now);
+                break;
+        }
+    }
+
+    private void transition(State state, long now) {
+        if (state == State.OPEN && this.state != State.OPEN)
+            opened++;
+        this.state = state;
+        this.changed = now;
+        this.probesSent = 0;
+        this.probesSucceeded = 0;
+        if (state == State.CLOSED) {
+            index = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+
+    /**
+     * The current state of the breaker.
+     *
+     * @return the breaker state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - changed >= openDuration)
+            return State.HALF_OPEN;
+        return state;
+    }
+
+    /**
+     * The fraction of tracked requests which failed or were too slow.
+     *
+     * @return the failure rate, <code>0</code> if no requests are tracked
+     */
+    public synchronized double getFailureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    /**
+     * The number of times the breaker has opened.
+     *
+     * @return the open count
+     */
+    public synchronized long getOpenCount() {
+        return opened;
+    }
+
+    /**
+     * The number of requests refused while the breaker was open.
+     *
+     * @return the rejected request count
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
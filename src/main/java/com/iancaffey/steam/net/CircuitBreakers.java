@@ -0,0 +1,149 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CircuitBreakers
+ * <p>
+ * An object which keeps a circuit breaker for every Steam host and every endpoint.
+ * A request is only sent if the breakers for both its host and its endpoint allow it, so an outage of the Steam Community
+ * inventory pages stops inventory requests while the Steam WebAPI interfaces keep running at full speed.
+ * <p>
+ * Connection failures, throttling (429) and server errors (5xx) count as failures. Other responses, such as a private
+ * inventory, are answers from a healthy server and count as successes unless they were too slow.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class CircuitBreakers {
+    /**
+     * The status reported for a request refused by an open circuit breaker.
+     */
+    public static final int CIRCUIT_OPEN = -2;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallDuration;
+    private final long openDuration;
+    private final int probes;
+    private final ConcurrentMap<String, CircuitBreaker> hosts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Endpoint, CircuitBreaker> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Creates breakers which open once half of the last 20 requests (and at least 10) failed or took over 10 seconds,
+     * stay open for 30 seconds, then close after a single successful probe.
+     */
+    public CircuitBreakers() {
+        this(20, 10, 0.5, 10, 30, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates breakers with the specified characteristics.
+     *
+     * @param windowSize           the number of recent requests whose outcomes are tracked
+     * @param minimumCalls         the number of tracked requests required before a breaker may open
+     * @param failureRateThreshold the fraction of failed or slow tracked requests at which a breaker opens
+     * @param slowCallDuration     the time after which a successful request is counted as a failure
+     * @param openDuration         the time a breaker stays open before probing
+     * @param probes               the number of successful probes required to close a breaker
+     * @param unit                 the unit of the durations
+     * @see CircuitBreaker
+     */
+    public CircuitBreakers(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallDuration, long openDuration, int probes, TimeUnit unit) {
+        //Validates the settings before any breaker is created
+        new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, openDuration, probes, unit);
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = unit.toNanos(slowCallDuration);
+        this.openDuration = unit.toNanos(openDuration);
+        this.probes = probes;
+    }
+
+    /**
+     * The breaker for a Steam host.
+     *
+     * @param host the host name (ie. <code>steamcommunity.com</code>)
+     * @return the breaker for the host
+     */
+    public CircuitBreaker getHostBreaker(String host) {
+        return hosts.computeIfAbsent(host, ignored -> create());
+    }
+
+    /**
+     * The breaker for an endpoint.
+     *
+     * @param endpoint the endpoint
+     * @return the breaker for the endpoint
+     */
+    public CircuitBreaker getEndpointBreaker(Endpoint endpoint) {
+        return endpoints.computeIfAbsent(endpoint, ignored -> create());
+    }
+
+    /**
+     * All the breakers created so far for Steam hosts.
+     *
+     * @return the host breakers by host name
+     */
+    public Map<String, CircuitBreaker> getHostBreakers() {
+        return hosts;
+    }
+
+    /**
+     * All the breakers created so far for endpoints.
+     *
+     * @return the endpoint breakers by endpoint
+     */
+    public Map<Endpoint, CircuitBreaker> getEndpointBreakers() {
+        return endpoints;
+    }
+
+    /**
+     * Asks the breakers of a request's host and endpoint whether it may be sent.
+     *
+     * @param request the request
+     * @return <code>true</code> if the request may be sent, <code>false</code> if it should fail fast
+     */
+    public boolean allow(Request request) {
+        CircuitBreaker endpoint = getEndpointBreaker(request.getEndpoint());
+        if (!endpoint.allow())
+            return false;
+        if (getHostBreaker(request.getHost()).allow())
+            return true;
+        //The probe slot the endpoint handed out would otherwise never see an outcome
+        endpoint.release();
+        return false;
+    }
+
+    /**
+     * Gives back the permission of a request whose outcome will not be recorded, such as a cancelled hedged copy.
+     *
+     * @param request the request
+     */
+    public void release(Request request) {
+        getEndpointBreaker(request.getEndpoint()).release();
+        getHostBreaker(request.getHost()).release();
+    }
+
+    /**
+     * Records the outcome of a permitted request with the breakers of its host and endpoint.
+     *
+     * @param request the request
+     * @param status  the response status, {@link RetryPolicy#CONNECTION_FAILURE} if no response was received
+     * @param latency the time in nanoseconds the request took
+     */
+    public void record(Request request, int status, long latency) {
+        boolean failed = status == RetryPolicy.CONNECTION_FAILURE || status == 429 || status >= 500;
+        getEndpointBreaker(request.getEndpoint()).record(failed, latency);
+        getHostBreaker(request.getHost()).record(failed, latency);
+    }
+
+    private CircuitBreaker create() {
+        return new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, openDuration, probes, TimeUnit.NANOSECONDS);
+    }
+}
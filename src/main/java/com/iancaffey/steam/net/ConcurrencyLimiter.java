@@ -0,0 +1,244 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Priority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ConcurrencyLimiter
+ * <p>
+ * An object which adapts the number of requests in flight to each Steam host to what the host currently tolerates.
+ * The limit of a host grows by one request per round trip while its average latency stays near the fastest latency seen recently,
+ * and shrinks by a quarter when the average climbs past twice that or the host throttles (429), is unavailable (503) or stops answering.
+ * Single slow responses are clipped before being averaged, so the occasional outlier does not cut the limit.
+ * <p>
+ * Requests over the limit wait in line without holding a thread, and are sent by priority as earlier requests complete.
+ * The limit never grows past the connections the transport keeps for a host, as requests beyond those would only queue for a connection
+ * and inflate the latency the limit adapts to.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class ConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 8;
+    public static final int DEFAULT_MAX_LIMIT = HttpTransport.DEFAULT_CONNECTIONS_PER_HOST;
+    private static final double TOLERANCE = 2;
+    private static final double BACKOFF = 0.75;
+    private static final double BASELINE_DRIFT = 0.01;
+    private static final double SMOOTHING = 0.1;
+    private static final int WARMUP = 20;
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+    private volatile int minLimit = 1;
+    private volatile int maxLimit = DEFAULT_MAX_LIMIT;
+
+    /**
+     * The smallest number of requests in flight a host is limited to.
+     *
+     * @return the minimum limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * The largest number of requests in flight a host is limited to.
+     *
+     * @return the maximum limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Updates the range the limit of each host adapts within.
+     *
+     * @param minLimit the smallest number of requests in flight a host is limited to
+     * @param maxLimit the largest number of requests in flight a host is limited to
+     * @throws IllegalArgumentException if <code>minLimit &lt; 1</code> or <code>maxLimit &lt; minLimit</code>
+     */
+    public void setLimits(int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit)
+            throw new IllegalArgumentException();
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * The current number of requests which may be in flight to a host.
+     *
+     * @param host the host name
+     * @return the current limit of the host
+     */
+    public int getLimit(String host) {
+        Limit limit = limits.get(host);
+        if (limit == null)
+            return Math.max(minLimit, Math.min(maxLimit, DEFAULT_INITIAL_LIMIT));
+        synchronized (limit) {
+            return limit.permits();
+        }
+    }
+
+    /**
+     * The current number of requests in flight to a host.
+     *
+     * @param host the host name
+     * @return the number of requests in flight
+     */
+    public int getInFlight(String host) {
+        Limit limit = limits.get(host);
+        if (limit == null)
+            return 0;
+        synchronized (limit) {
+            return limit.inFlight;
+        }
+    }
+
+    /**
+     * The current limits of all hosts requests have been sent to.
+     *
+     * @return the current limit of each host
+     */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        for (String host : limits.keySet())
+            snapshot.put(host, getLimit(host));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Waits for room to send a request of {@link Priority#NORMAL} priority to a host, without blocking.
+     *
+     * @param host   the host name
+     * @param permit the callback run once the request may be sent
+     * @see #acquire(String, Priority, Runnable)
+     */
+    public void acquire(String host, Runnable permit) {
+        acquire(host, Priority.NORMAL, permit);
+    }
+
+    /**
+     * Waits for room to send a request to a host, without blocking.
+     * The permit is handed to the callback immediately if the host is under its limit, otherwise once an earlier request completes
+     * and no request of a higher priority is waiting.
+     * Every permit must be given back with {@link #release(String)} or {@link #release(String, int, long)}.
+     *
+     * @param host     the host name
+     * @param priority the priority of the request
+     * @param permit   the callback run once the request may be sent
+     * @throws IllegalArgumentException if <code>priority == null</code> or <code>permit == null</code>
+     */
+    public void acquire(String host, Priority priority, Runnable permit) {
+        if (priority == null || permit == null)
+            throw new IllegalArgumentException();
+        Limit limit = limits.computeIfAbsent(host, ignored -> new Limit());
+        synchronized (limit) {
+            if (limit.inFlight >= limit.permits()) {
+                limit.waiting.add(priority, permit);
+                return;
+            }
+            limit.inFlight++;
+        }
+        permit.run();
+    }
+
+    /**
+     * Gives back a permit for a request which completed without telling anything about the health of the host,
+     * such as a request refused by a circuit breaker or cancelled by its hedged duplicate.
+     *
+     * @param host the host name
+     */
+    public void release(String host) {
+        release(host, 0, -1);
+    }
+
+    /**
+     * Gives back a permit for a completed request, adapting the limit of the host to the outcome.
+     *
+     * @param host    the host name
+     * @param status  the response status, {@link RetryPolicy#CONNECTION_FAILURE} if no response was received
+     * @param latency the time in nanoseconds the request took, negative to leave the limit unchanged
+     */
+    public void release(String host, int status, long latency) {
+        Limit limit = limits.get(host);
+        if (limit == null)
+            return;
+        List<Runnable> ready = null;
+        synchronized (limit) {
+            int inFlight = limit.inFlight--;
+            if (latency >= 0)
+                limit.update(status, latency, inFlight);
+            while (!limit.waiting.isEmpty() && limit.inFlight < limit.permits()) {
+                limit.inFlight++;
+                if (ready == null)
+                    ready = new ArrayList<>();
+                ready.add(limit.waiting.poll());
+            }
+        }
+        if (ready != null)
+            for (Runnable permit : ready)
+                permit.run();
+    }
+
+    /**
+     * Limit
+     * <p>
+     * The adaptive limit of a single host and the requests waiting for room.
+     */
+    private class Limit {
+        private final DispatchQueue waiting = new DispatchQueue();
+        private double limit = Math.max(minLimit, Math.min(maxLimit, DEFAULT_INITIAL_LIMIT));
+        private int inFlight;
+        private double baseline = -1;
+        private double average = -1;
+        private int samples;
+        private long lastDecrease = System.nanoTime();
+        private long lastDrift;
+
+        private int permits() {
+            return Math.max(minLimit, Math.min(maxLimit, (int) limit));
+        }
+
+        /**
+         * Adapts the limit to the outcome of a request.
+         *
+         * @param status   the response status
+         * @param latency  the time in nanoseconds the request took
+         * @param inFlight the number of requests in flight when the request completed, including itself
+         */
+        private void update(int status, long latency, int inFlight) {
+            long now = System.nanoTime();
+            boolean overloaded = status == 429 || status == 503 || status == RetryPolicy.CONNECTION_FAILURE;
+            if (!overloaded) {
+                //The baseline follows drops in latency immediately, and rises by a little each round trip in case the host has become slower for good
+                double sample = baseline < 0 ? latency : Math.min(latency, baseline * TOLERANCE * 2);
+                if (baseline < 0 || latency < baseline) {
+                    baseline = latency;
+                    lastDrift = now;
+                } else if (now - lastDrift > baseline) {
+                    baseline += (sample - baseline) * BASELINE_DRIFT;
+                    lastDrift = now;
+                }
+                average = average < 0 ? sample : average + (sample - average) * SMOOTHING;
+                //The first responses pay for connection setup, so latency alone is only trusted once the average has settled,
+                //and only while the permits are in use, since a slow host with idle permits is not slowed down by the requests sent to it
+                overloaded = ++samples > WARMUP && inFlight >= permits() / 2 && average > baseline * TOLERANCE;
+            }
+            if (overloaded) {
+                //Requests already in flight when the host became overloaded only count once, so the limit falls at most once per round trip
+                if (now - lastDecrease > (baseline < 0 ? latency : (long) baseline)) {
+                    limit = Math.max(minLimit, limit * BACKOFF);
+                    lastDecrease = now;
+                }
+            } else if (inFlight >= permits() / 2) {
+                //The limit only grows while it is being used, so an idle host does not build up room for a burst
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Priority;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DispatchQueue
+ * <p>
+ * A line of tasks waiting for room to run, served by priority and in order of arrival within each priority.
+ * A task which has waited longer than the maximum wait is served before tasks of a higher priority, oldest first,
+ * so a steady stream of urgent tasks cannot starve the rest.
+ * <p>
+ * Dispatch queues are not thread-safe, and are guarded by the lock of their owner.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class DispatchQueue {
+    public static final long DEFAULT_MAX_WAIT = TimeUnit.SECONDS.toMillis(2);
+    private static final Priority[] PRIORITIES = Priority.values();
+    private final ArrayDeque<Task>[] tasks = newQueues();
+    private final long maxWait;
+    private int size;
+
+    private static class Task {
+        private final Runnable runnable;
+        private final long enqueued = System.nanoTime();
+
+        private Task(Runnable runnable) {
+            this.runnable = runnable;
+        }
+    }
+
+    /**
+     * Creates a new dispatch queue which lets tasks wait for {@link #DEFAULT_MAX_WAIT} milliseconds before serving them regardless of priority.
+     */
+    public DispatchQueue() {
+        this(DEFAULT_MAX_WAIT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new dispatch queue.
+     *
+     * @param maxWait the time a task may wait before it is served regardless of priority
+     * @param unit    the time unit of the maximum wait
+     * @throws IllegalArgumentException if <code>maxWait &lt; 0</code> or <code>unit == null</code>
+     */
+    public DispatchQueue(long maxWait, TimeUnit unit) {
+        if (maxWait < 0 || unit == null)
+            throw new IllegalArgumentException();
+        this.maxWait = unit.toNanos(maxWait);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArrayDeque<Task>[] newQueues() {
+        ArrayDeque<Task>[] queues = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++)
+            queues[i] = new ArrayDeque<>();
+        return queues;
+    }
+
+    /**
+     * Adds a task to the end of the line for its priority.
+     *
+     * @param priority the priority of the task
+     * @param task     the task
+     * @throws IllegalArgumentException if <code>priority == null</code> or <code>task == null</code>
+     */
+    public void add(Priority priority, Runnable task) {
+        if (priority == null || task == null)
+            throw new IllegalArgumentException();
+        tasks[priority.ordinal()].add(new Task(task));
+        size++;
+    }
+
+    /**
+     * Removes the next task to serve, the oldest task which has waited past the maximum wait if any, the first task of the highest priority otherwise.
+     *
+     * @return <code>null</code> if no task is waiting, the next task otherwise
+     */
+    public Runnable poll() {
+        if (size == 0)
+            return null;
+        long now = System.nanoTime();
+        ArrayDeque<Task> next = null;
+        for (ArrayDeque<Task> queue : tasks) {
+            Task head = queue.peek();
+            if (head == null)
+                continue;
+            if (next == null)
+                next = queue;
+            else if (now - head.enqueued > maxWait && head.enqueued - next.peek().enqueued < 0)
+                next = queue;
+        }
+        size--;
+        return next.poll().runnable;
+    }
+
+    /**
+     * Determines if no task is waiting.
+     *
+     * @return <code>true</code> if no task is waiting, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * The number of tasks waiting.
+     *
+     * @return the number of waiting tasks
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,98 @@
+package com.iancaffey.steam.net;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HedgePolicy
+ * <p>
+ * An object which decides when a slow GET request should be hedged with a duplicate request.
+ * The policy tracks the latency of recent responses and hedges a request once it has been outstanding longer than
+ * the configured percentile, so only the slowest few percent of requests are ever sent twice.
+ * <p>
+ * As the policy tracks latencies, each method or endpoint should be given its own policy.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class HedgePolicy {
+    private static final int SAMPLES = 128;
+    private static final int MINIMUM_SAMPLES = 16;
+    private static final int REFRESH_INTERVAL = 16;
+    private final double percentile;
+    private final long minDelay;
+    private final long[] latencies = new long[SAMPLES];
+    private int index;
+    private int count;
+    private int recorded;
+    private long delay = -1;
+
+    /**
+     * Creates a new hedge policy hedging requests slower than the 95th percentile, waiting at least 10 milliseconds.
+     */
+    public HedgePolicy() {
+        this(0.95, 10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new hedge policy with the specified characteristics.
+     *
+     * @param percentile the fraction of requests which should complete before being hedged
+     * @param minDelay   the minimum time to wait before hedging a request
+     * @param unit       the unit of the delay
+     * @throws IllegalArgumentException if the percentile is not within <code>(0, 1)</code>, <code>minDelay &lt; 0</code> or <code>unit == null</code>
+     */
+    public HedgePolicy(double percentile, long minDelay, TimeUnit unit) {
+        if (percentile <= 0 || percentile >= 1 || minDelay < 0 || unit == null)
+            throw new IllegalArgumentException();
+        this.percentile = percentile;
+        this.minDelay = unit.toNanos(minDelay);
+    }
+
+    /**
+     * The fraction of requests which should complete before being hedged.
+     *
+     * @return the hedging percentile
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * The minimum time to wait before hedging a request.
+     *
+     * @param unit the unit of the returned time
+     * @return the minimum hedge delay
+     */
+    public long getMinDelay(TimeUnit unit) {
+        return unit.convert(minDelay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the latency of a successful response.
+     *
+     * @param latency the time in nanoseconds the request took
+     */
+    public synchronized void record(long latency) {
+        latencies[index] = latency;
+        index = (index + 1) % SAMPLES;
+        if (count < SAMPLES)
+            count++;
+        //Sorting the samples is only worth doing every few responses, as the percentile moves slowly
+        if (count < MINIMUM_SAMPLES || (delay >= 0 && ++recorded < REFRESH_INTERVAL))
+            return;
+        recorded = 0;
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        delay = Math.max(minDelay, sorted[Math.min(count - 1, (int) (percentile * count))]);
+    }
+
+    /**
+     * The time to wait for a response before hedging a request.
+     *
+     * @return <code>-1</code> if too few latencies have been recorded to hedge, the hedge delay in nanoseconds otherwise
+     */
+    public synchronized long getDelay() {
+        return delay;
+    }
+}
@@ -0,0 +1,339 @@
+package com.iancaffey.steam.net;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HttpTransport
+ * <p>
+ * A transport backed by persistent HttpURLConnections.
+ * Each host (api.steampowered.com, steamcommunity.com) receives its own bounded pool of connections, and responses
+ * are fully drained on close so the JVM can hand the kept-alive socket to the next request for that host.
+ * <p>
+ * Connecting and each read are bounded by timeouts, shortened further to the time left before the deadline of the request,
+ * so a stalled socket can never hold a communication thread forever. Cancelling a request waiting on its response disconnects it,
+ * waking the thread blocked on it at once. Cancelling a request reading its response gives its place in the pool back at once,
+ * and the connection is dropped rather than kept alive as soon as the reading thread wakes.
+ * <p>
+ * Responses are requested with gzip or deflate compression and decompressed as they are read, so large JSON documents
+ * such as item schemas and inventories cross the network at a fraction of their size.
+ * <p>
+ * The JVM only keeps 5 idle connections per host alive by default, closing the rest between requests. Applications using
+ * more connections per host should raise the <code>http.maxConnections</code> system property to at least the pool size
+ * before the first request is made, as it is shared by every connection in the JVM and is left to the application to set.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class HttpTransport implements Transport {
+    public static final int DEFAULT_CONNECTIONS_PER_HOST = 8;
+    public static final long DEFAULT_CONNECT_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    public static final long DEFAULT_READ_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+    private final int connectionsPerHost;
+    private final ConcurrentMap<String, Semaphore> pools = new ConcurrentHashMap<>();
+    private volatile long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private volatile long readTimeout = DEFAULT_READ_TIMEOUT;
+
+    /**
+     * Creates a new transport with the default number of connections per host.
+     */
+    public HttpTransport() {
+        this(DEFAULT_CONNECTIONS_PER_HOST);
+    }
+
+    /**
+     * Creates a new transport with a preset number of connections per host.
+     * Connections beyond the <code>http.maxConnections</code> system property are not kept alive between requests.
+     *
+     * @param connectionsPerHost the maximum number of simultaneous connections to a single host
+     * @throws IllegalArgumentException if <code>connectionsPerHost &lt; 1</code>
+     */
+    public HttpTransport(int connectionsPerHost) {
+        if (connectionsPerHost < 1)
+            throw new IllegalArgumentException();
+        this.connectionsPerHost = connectionsPerHost;
+    }
+
+    /**
+     * The maximum number of simultaneous connections to a single host.
+     *
+     * @return the connection pool size for each host
+     */
+    public int getConnectionsPerHost() {
+        return connectionsPerHost;
+    }
+
+    /**
+     * The longest time to wait for a connection to be established.
+     *
+     * @param unit the unit of the returned time
+     * @return the connect timeout
+     */
+    public long getConnectTimeout(TimeUnit unit) {
+        return unit.convert(connectTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates the longest time to wait for a connection to be established.
+     *
+     * @param timeout the new connect timeout
+     * @param unit    the unit of the timeout
+     * @throws IllegalArgumentException if <code>timeout &lt; 1</code> millisecond
+     */
+    public void setConnectTimeout(long timeout, TimeUnit unit) {
+        long millis = unit.toMillis(timeout);
+        if (millis < 1)
+            throw new IllegalArgumentException();
+        this.connectTimeout = millis;
+    }
+
+    /**
+     * The longest time to wait for data while reading a response.
+     *
+     * @param unit the unit of the returned time
+     * @return the read timeout
+     */
+    public long getReadTimeout(TimeUnit unit) {
+        return unit.convert(readTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates the longest time to wait for data while reading a response.
+     *
+     * @param timeout the new read timeout
+     * @param unit    the unit of the timeout
+     * @throws IllegalArgumentException if <code>timeout &lt; 1</code> millisecond
+     */
+    public void setReadTimeout(long timeout, TimeUnit unit) {
+        long millis = unit.toMillis(timeout);
+        if (millis < 1)
+            throw new IllegalArgumentException();
+        this.readTimeout = millis;
+    }
+
+    /**
+     * Sends a request, waiting for a pooled connection to the host if all are in use.
+     * The connection is returned to the pool when the response is closed.
+     *
+     * @param request the request to send
+     * @return the response to the request
+     * @throws SocketTimeoutException if the deadline of the request passes before the response has been read
+     * @throws IOException            if unable to communicate with the remote host
+     */
+    @Override
+    public Response send(Request request) throws IOException {
+        URL url = new URL(request.getUrl());
+        Semaphore pool = pools.computeIfAbsent(url.getHost(), host -> new Semaphore(connectionsPerHost, true));
+        try {
+            if (!pool.tryAcquire(Math.max(0, request.getRemaining(TimeUnit.NANOSECONDS)), TimeUnit.NANOSECONDS))
+                throw new SocketTimeoutException("Timed out waiting for a connection to " + url.getHost());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + url.getHost());
+        }
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            request.setCancelHook(connection::disconnect);
+            if (request.isCancelled())
+                throw new InterruptedIOException("Request was cancelled");
+            connection.setConnectTimeout(timeout(connectTimeout, request));
+            connection.setReadTimeout(timeout(readTimeout, request));
+            connection.setRequestMethod(request.getRequestMethod().name());
+            connection.setRequestProperty("Connection", "keep-alive");
+            connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+            for (Map.Entry<String, String> header : request.getHeaders().entrySet())
+                connection.setRequestProperty(header.getKey(), header.getValue());
+            int status = connection.getResponseCode();
+            InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (body == null) {
+                request.setCancelHook(null);
+                pool.release();
+                return new Response(status, connection.getHeaderFields(), null);
+            }
+            PooledInputStream pooled = new PooledInputStream(body, pool, request, connection);
+            //The connection cannot be disconnected while a thread is reading from it, so the body gives up its place in the pool instead
+            request.setCancelHook(pooled::release);
+            String encoding = connection.getContentEncoding();
+            if (encoding == null || encoding.trim().equalsIgnoreCase("identity"))
+                return new Response(status, connection.getHeaderFields(), pooled);
+            try {
+                return new Response(status, decoded(connection.getHeaderFields()), decode(pooled, encoding.trim()));
+            } catch (IOException | RuntimeException e) {
+                pooled.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            request.setCancelHook(null);
+            pool.release();
+            if (request.isCancelled() && !(e instanceof InterruptedIOException))
+                throw new InterruptedIOException("Request was cancelled");
+            throw e;
+        }
+    }
+
+    /**
+     * Shortens a socket timeout to the time left before the deadline of a request.
+     *
+     * @param timeout the socket timeout in milliseconds
+     * @param request the request being sent
+     * @return the socket timeout in milliseconds, at least <code>1</code> as <code>0</code> would never time out
+     * @throws SocketTimeoutException if the deadline of the request has already passed
+     */
+    private static int timeout(long timeout, Request request) throws SocketTimeoutException {
+        long remaining = request.getRemaining(TimeUnit.NANOSECONDS);
+        if (remaining <= 0)
+            throw new SocketTimeoutException("Deadline passed before the request was sent");
+        return (int) Math.max(1, Math.min(Math.min(timeout, TimeUnit.NANOSECONDS.toMillis(remaining) + 1), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Wraps a compressed response body in a stream which decompresses it as it is read.
+     *
+     * @param body     the compressed response body
+     * @param encoding the content encoding of the body
+     * @return the decompressing response body, <code>body</code> if the encoding is not supported or the body is empty
+     * @throws IOException if unable to read the compression header
+     */
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        boolean gzip = encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip");
+        if (!gzip && !encoding.equalsIgnoreCase("deflate"))
+            return body;
+        PushbackInputStream in = new PushbackInputStream(body, 2);
+        int first = in.read();
+        if (first == -1)
+            return in;
+        int second = in.read();
+        if (second != -1)
+            in.unread(second);
+        in.unread(first);
+        if (gzip)
+            return new GZIPInputStream(in, 8192);
+        //Servers disagree on whether deflate means zlib wrapped or raw deflate data, so the zlib header is checked for
+        boolean zlib = second != -1 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        return new InflatingInputStream(in, new Inflater(!zlib));
+    }
+
+    /**
+     * Removes the headers describing the compressed body from the headers of a decompressed response.
+     *
+     * @param headers the response headers
+     * @return the response headers without <code>Content-Encoding</code> and <code>Content-Length</code>
+     */
+    private static Map<String, List<String>> decoded(Map<String, List<String>> headers) {
+        Map<String, List<String>> decoded = new HashMap<>(headers);
+        for (Iterator<String> iterator = decoded.keySet().iterator(); iterator.hasNext(); ) {
+            String name = iterator.next();
+            if (name != null && (name.equalsIgnoreCase("Content-Encoding") || name.equalsIgnoreCase("Content-Length")))
+                iterator.remove();
+        }
+        return decoded;
+    }
+
+    /**
+     * Releases any connections held by the transport.
+     * Idle connections are owned by the JVM keep-alive cache and expire on their own.
+     */
+    @Override
+    public void close() {
+        pools.clear();
+    }
+
+    /**
+     * PooledInputStream
+     * <p>
+     * A response body which returns its connection to the host pool once closed, and stops reading once the deadline of its
+     * request has passed, the request is cancelled or the reading thread is interrupted.
+     */
+    private static class PooledInputStream extends FilterInputStream {
+        private final Semaphore pool;
+        private final Request request;
+        private final HttpURLConnection connection;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PooledInputStream(InputStream in, Semaphore pool, Request request, HttpURLConnection connection) {
+            super(in);
+            this.pool = pool;
+            this.request = request;
+            this.connection = connection;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            return super.read(b, off, len);
+        }
+
+        private void checkDeadline() throws IOException {
+            if (request.getRemaining(TimeUnit.NANOSECONDS) <= 0)
+                throw new SocketTimeoutException("Deadline passed while reading the response");
+            if (request.isCancelled() || Thread.currentThread().isInterrupted())
+                throw new InterruptedIOException("Interrupted while reading the response");
+        }
+
+        @Override
+        public void close() throws IOException {
+            request.setCancelHook(null);
+            try {
+                //The rest of a cancelled response is not worth reading to keep the connection alive
+                if (request.isCancelled())
+                    connection.disconnect();
+                else
+                    super.close();
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * Gives the place of the connection in the host pool back, once.
+         */
+        private void release() {
+            if (released.compareAndSet(false, true))
+                pool.release();
+        }
+    }
+
+    /**
+     * InflatingInputStream
+     * <p>
+     * A deflate response body which frees its native inflater once closed.
+     */
+    private static class InflatingInputStream extends InflaterInputStream {
+        private InflatingInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater, 8192);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
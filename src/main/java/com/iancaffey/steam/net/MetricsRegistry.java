@@ -0,0 +1,91 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+import com.iancaffey.steam.Method;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MetricsRegistry
+ * <p>
+ * An object which keeps the request metrics of every Steam WebAPI method, and of every family of Steam Community pages
+ * (inventory, market and trade offer) requested by url, to find which calls take up the most time.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class MetricsRegistry {
+    private final ConcurrentMap<Object, RequestMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * The metrics a request is recorded in, those of its Steam WebAPI method or of its endpoint if it was requested by url.
+     *
+     * @param request the request
+     * @return the metrics of the request
+     */
+    public RequestMetrics getMetrics(Request request) {
+        Object key = request.getMethod() == null ? request.getEndpoint() : request.getMethod();
+        return metrics.computeIfAbsent(key, ignored -> new RequestMetrics());
+    }
+
+    /**
+     * The metrics of the calls of a Steam WebAPI method.
+     *
+     * @param method the Steam WebAPI method
+     * @return <code>null</code> if the method has not been called, the metrics of the method otherwise
+     */
+    public RequestMetrics getMetrics(Method method) {
+        return method == null ? null : metrics.get(method);
+    }
+
+    /**
+     * The metrics of the requests made by url to an endpoint, such as the Steam Community market pages.
+     *
+     * @param endpoint the endpoint
+     * @return <code>null</code> if the endpoint has not been requested by url, the metrics of the endpoint otherwise
+     */
+    public RequestMetrics getMetrics(Endpoint endpoint) {
+        return endpoint == null ? null : metrics.get(endpoint);
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every method and endpoint requested so far.
+     *
+     * @return copies of the metrics, by method or endpoint name
+     */
+    public Map<String, RequestMetrics> snapshot() {
+        Map<String, RequestMetrics> snapshot = new TreeMap<>();
+        for (Map.Entry<Object, RequestMetrics> entry : metrics.entrySet())
+            snapshot.put(((Enum<?>) entry.getKey()).name(), entry.getValue().copy());
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Discards the metrics recorded so far.
+     */
+    public void reset() {
+        metrics.clear();
+    }
+
+    /**
+     * Exports a snapshot of the metrics as text, one block per method or endpoint with its counts and the distribution of its
+     * queue, network and parse times in milliseconds.
+     *
+     * @return the metrics as text
+     */
+    public String export() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, RequestMetrics> entry : snapshot().entrySet())
+            builder.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return export();
+    }
+}
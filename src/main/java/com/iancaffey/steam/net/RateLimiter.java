@@ -0,0 +1,183 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiter
+ * <p>
+ * An object which spaces out requests to each endpoint using a token bucket.
+ * Rather than rejecting requests over the budget, each request reserves the next available token and is told how long to wait for it,
+ * so queued requests are released in the order they arrived at a steady rate just under the configured limit.
+ * Endpoints without a configured rate are never delayed.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class RateLimiter {
+    private final Map<Endpoint, Bucket> buckets = new EnumMap<>(Endpoint.class);
+
+    /**
+     * Updates the rate at which requests may be sent to an endpoint.
+     *
+     * @param endpoint         the endpoint to limit
+     * @param permitsPerSecond the sustained number of requests per second
+     * @param burst            the number of requests which may be sent back to back after the endpoint has been idle
+     * @return this
+     * @throws IllegalArgumentException if <code>endpoint == null</code>, <code>permitsPerSecond &lt;= 0</code> or <code>burst &lt; 1</code>
+     */
+    public RateLimiter setRate(Endpoint endpoint, double permitsPerSecond, int burst) {
+        if (endpoint == null || permitsPerSecond <= 0 || burst < 1)
+            throw new IllegalArgumentException();
+        synchronized (buckets) {
+            buckets.put(endpoint, new Bucket(permitsPerSecond, burst));
+        }
+        return this;
+    }
+
+    /**
+     * Updates the rate at which requests may be sent to an endpoint, allowing a full period's worth of requests to burst.
+     *
+     * @param endpoint the endpoint to limit
+     * @param permits  the number of requests per period
+     * @param period   the length of the period
+     * @param unit     the unit of the period
+     * @return this
+     * @throws IllegalArgumentException if <code>endpoint == null</code>, <code>permits &lt; 1</code> or <code>period &lt;= 0</code>
+     */
+    public RateLimiter setRate(Endpoint endpoint, int permits, long period, TimeUnit unit) {
+        if (permits < 1 || period <= 0 || unit == null)
+            throw new IllegalArgumentException();
+        return setRate(endpoint, permits / (unit.toNanos(period) / 1e9), permits);
+    }
+
+    /**
+     * Removes the rate limit for an endpoint.
+     *
+     * @param endpoint the endpoint to stop limiting
+     * @return this
+     */
+    public RateLimiter removeRate(Endpoint endpoint) {
+        synchronized (buckets) {
+            buckets.remove(endpoint);
+        }
+        return this;
+    }
+
+    /**
+     * The sustained number of requests per second allowed for an endpoint.
+     *
+     * @param endpoint the endpoint
+     * @return <code>-1</code> if the endpoint is not limited, the number of requests per second otherwise
+     */
+    public double getRate(Endpoint endpoint) {
+        Bucket bucket = bucket(endpoint);
+        return bucket == null ? -1 : bucket.permitsPerSecond;
+    }
+
+    /**
+     * Reserves a token for a request to the endpoint.
+     *
+     * @param endpoint the endpoint the request is sent to
+     * @return the time in nanoseconds the request must wait before being sent, <code>0</code> if it can be sent immediately
+     */
+    public long reserve(Endpoint endpoint) {
+        return reserve(endpoint, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reserves a token for a request to the endpoint, only if the request would not have to wait for it past a timeout.
+     * Requests which would wait too long leave the bucket untouched, so giving up on them does not delay the requests queued behind.
+     *
+     * @param endpoint the endpoint the request is sent to
+     * @param timeout  the longest time in nanoseconds the request may wait
+     * @return <code>-1</code> if no token was reserved, otherwise the time in nanoseconds the request must wait before being sent
+     */
+    public long reserve(Endpoint endpoint, long timeout) {
+        Bucket bucket = bucket(endpoint);
+        if (bucket == null)
+            return timeout > 0 ? 0 : -1;
+        return bucket.reserve(System.nanoTime(), timeout);
+    }
+
+    /**
+     * Takes a token for an optional request to the endpoint, only if one is available right away.
+     * Optional requests never leave the bucket in debt, so they cannot delay the requests queued behind them.
+     *
+     * @param endpoint the endpoint the request is sent to
+     * @return <code>true</code> if a token was taken, <code>false</code> if the request should not be sent
+     */
+    public boolean tryReserve(Endpoint endpoint) {
+        Bucket bucket = bucket(endpoint);
+        return bucket == null || bucket.tryReserve(System.nanoTime());
+    }
+
+    private Bucket bucket(Endpoint endpoint) {
+        if (endpoint == null)
+            return null;
+        synchronized (buckets) {
+            return buckets.get(endpoint);
+        }
+    }
+
+    /**
+     * Bucket
+     * <p>
+     * A token bucket which hands out tokens in the order they are reserved.
+     */
+    private static class Bucket {
+        private final double permitsPerSecond;
+        private final double interval;
+        private final int burst;
+        private double stored;
+        private long last;
+
+        private Bucket(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.interval = 1e9 / permitsPerSecond;
+            this.burst = burst;
+            this.stored = burst;
+            this.last = System.nanoTime();
+        }
+
+        /**
+         * Takes the next token from the bucket, unless it is not available before a timeout.
+         * Tokens reserved before they are available leave the bucket in debt, which later reservations queue behind.
+         *
+         * @param now     the current time in nanoseconds
+         * @param timeout the longest time in nanoseconds to wait for the token
+         * @return <code>-1</code> if no token was taken, the time in nanoseconds until the reserved token is available otherwise
+         */
+        private synchronized long reserve(long now, long timeout) {
+            if (now > last) {
+                stored = Math.min(burst, stored + (now - last) / interval);
+                last = now;
+            }
+            long wait = stored >= 1 ? 0 : (long) ((1 - stored) * interval);
+            if (wait >= timeout)
+                return -1;
+            stored -= 1;
+            return wait;
+        }
+
+        /**
+         * Takes the next token from the bucket if one is available now.
+         *
+         * @param now the current time in nanoseconds
+         * @return <code>true</code> if a token was taken, <code>false</code> otherwise
+         */
+        private synchronized boolean tryReserve(long now) {
+            if (now > last) {
+                stored = Math.min(burst, stored + (now - last) / interval);
+                last = now;
+            }
+            if (stored < 1)
+                return false;
+            stored -= 1;
+            return true;
+        }
+    }
+}
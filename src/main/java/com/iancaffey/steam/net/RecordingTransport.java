@@ -0,0 +1,102 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.util.Streams;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecordingTransport
+ * <p>
+ * A transport which captures all traffic sent through another transport to an append-only file.
+ * Every request url (with its WebAPI key redacted), response status, headers, latency and body is recorded, so the traffic
+ * can later be served back by a {@link ReplayTransport} without reaching the Steam servers.
+ * <p>
+ * Response bodies are read in full before being handed back, so the recorded latency covers the whole transfer.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class RecordingTransport implements Transport {
+    private final Transport transport;
+    private final DataOutputStream out;
+    private final AtomicLong records = new AtomicLong();
+
+    /**
+     * Creates a new transport recording the traffic of another transport, appending to the capture file if it already exists.
+     *
+     * @param transport the transport sending the requests
+     * @param file      the capture file
+     * @throws IOException              if unable to open the capture file
+     * @throws IllegalArgumentException if <code>transport == null</code> or <code>file == null</code>
+     */
+    public RecordingTransport(Transport transport, Path file) throws IOException {
+        if (transport == null || file == null)
+            throw new IllegalArgumentException();
+        this.transport = transport;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 65536));
+    }
+
+    /**
+     * The number of exchanges recorded so far.
+     *
+     * @return the record count
+     */
+    public long getRecordCount() {
+        return records.get();
+    }
+
+    /**
+     * Sends a request through the recorded transport and records the exchange.
+     * Requests which fail without a response are not recorded.
+     *
+     * @param request the request to send
+     * @return the response to the request, with its body buffered
+     * @throws IOException if unable to communicate with the remote host
+     */
+    @Override
+    public Response send(Request request) throws IOException {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        byte[] body;
+        Map<String, List<String>> headers;
+        int status;
+        try (Response response = transport.send(request)) {
+            status = response.getStatus();
+            headers = response.getHeaders();
+            InputStream in = response.getBody();
+            body = in == null ? null : Streams.read(in);
+        }
+        CaptureRecord record = new CaptureRecord(timestamp, request.getRequestMethod(), CaptureRecord.redact(request.getUrl()), status, System.nanoTime() - start, headers, body);
+        synchronized (out) {
+            record.write(out);
+            out.flush();
+        }
+        records.incrementAndGet();
+        return new Response(status, headers, body == null ? null : new ByteArrayInputStream(body));
+    }
+
+    /**
+     * Closes the capture file and the recorded transport.
+     */
+    @Override
+    public void close() {
+        synchronized (out) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        transport.close();
+    }
+}
@@ -0,0 +1,132 @@
+package com.iancaffey.steam.net;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReplayTransport
+ * <p>
+ * A transport which serves the traffic captured by a {@link RecordingTransport} back without reaching the Steam servers.
+ * Requests are matched to captured responses by request method and url, ignoring the host and WebAPI key, and repeated
+ * requests are served the captured responses in the order they were recorded, starting over once all have been served.
+ * <p>
+ * Each response is delayed by its captured latency multiplied by a time scale, so traffic can be replayed with its original
+ * timing (<code>1</code>), compressed timing (ie. <code>0.1</code>) or as fast as possible (<code>0</code>).
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class ReplayTransport implements Transport {
+    private final Map<String, Replay> replays = new HashMap<>();
+    private final double timeScale;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+
+    /**
+     * Creates a new transport serving the traffic in a capture file.
+     *
+     * @param file      the capture file
+     * @param timeScale the factor applied to captured latencies
+     * @throws IOException              if unable to read the capture file
+     * @throws IllegalArgumentException if <code>file == null</code> or <code>timeScale &lt; 0</code>
+     */
+    public ReplayTransport(Path file, double timeScale) throws IOException {
+        if (file == null || timeScale < 0)
+            throw new IllegalArgumentException();
+        this.timeScale = timeScale;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 65536))) {
+            CaptureRecord record;
+            while ((record = CaptureRecord.read(in)) != null)
+                replays.computeIfAbsent(CaptureRecord.match(record.requestMethod, record.url), key -> new Replay()).records.add(record);
+        }
+    }
+
+    /**
+     * The number of distinct requests in the capture.
+     *
+     * @return the number of captured requests
+     */
+    public int getRequestCount() {
+        return replays.size();
+    }
+
+    /**
+     * The number of requests answered with a captured response.
+     *
+     * @return the served request count
+     */
+    public long getServedCount() {
+        return served.get();
+    }
+
+    /**
+     * The number of requests which had no captured response and were answered with <code>404 Not Found</code>.
+     *
+     * @return the unmatched request count
+     */
+    public long getUnmatchedCount() {
+        return unmatched.get();
+    }
+
+    /**
+     * Answers a request with its next captured response, after the scaled captured latency.
+     *
+     * @param request the request to send
+     * @return the captured response, <code>404 Not Found</code> if the request was not captured
+     * @throws SocketTimeoutException if the deadline of the request passes during the latency
+     * @throws IOException            if the thread is interrupted while waiting
+     */
+    @Override
+    public Response send(Request request) throws IOException {
+        Replay replay = replays.get(CaptureRecord.match(request.getRequestMethod(), request.getUrl()));
+        if (replay == null) {
+            unmatched.incrementAndGet();
+            return new Response(404, null, null);
+        }
+        CaptureRecord record = replay.records.get(Math.floorMod(replay.next.getAndIncrement(), replay.records.size()));
+        long latency = (long) (record.latency * timeScale);
+        long remaining = request.getRemaining(TimeUnit.NANOSECONDS);
+        if (latency > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(latency, Math.max(0, remaining)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying a response");
+            }
+            if (latency > remaining)
+                throw new SocketTimeoutException("Deadline passed while replaying a response");
+        }
+        served.incrementAndGet();
+        return new Response(record.status, record.headers, record.body == null ? null : new ByteArrayInputStream(record.body));
+    }
+
+    /**
+     * Does nothing, as the replay holds no connections.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Replay
+     * <p>
+     * The captured responses to a single request, and the next one to serve.
+     */
+    private static class Replay {
+        private final List<CaptureRecord> records = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+    }
+}
@@ -0,0 +1,253 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+import com.iancaffey.steam.Method;
+import com.iancaffey.steam.RequestMethod;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request
+ * <p>
+ * An object representing a single HTTP request to be sent by a transport.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Request {
+    private final String url;
+    private final RequestMethod requestMethod;
+    private final Method method;
+    private final Endpoint endpoint;
+    private final String host;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private long deadline;
+    private boolean bounded;
+    private Runnable cancelHook;
+    private boolean cancelled;
+
+    /**
+     * Creates a new request for the specified resource.
+     *
+     * @param url           the location of the resource
+     * @param requestMethod the type of request method for the HTTP request (POST, GET, PUT, DELETE)
+     * @throws IllegalArgumentException if <code>url == null</code>
+     */
+    public Request(String url, RequestMethod requestMethod) {
+        if (url == null)
+            throw new IllegalArgumentException();
+        this.url = url;
+        this.requestMethod = requestMethod == null ? RequestMethod.GET : requestMethod;
+        this.method = null;
+        this.endpoint = Endpoint.of(url);
+        this.host = host(url);
+    }
+
+    /**
+     * Creates a new request calling a Steam WebAPI method.
+     *
+     * @param url    the query string for the method
+     * @param method the Steam WebAPI method being called
+     * @throws IllegalArgumentException if <code>url == null</code> or <code>method == null</code>
+     */
+    public Request(String url, Method method) {
+        if (url == null || method == null)
+            throw new IllegalArgumentException();
+        this.url = url;
+        this.requestMethod = method.getRequestMethod() == null ? RequestMethod.GET : method.getRequestMethod();
+        this.method = method;
+        this.endpoint = Endpoint.of(method);
+        this.host = host(url);
+    }
+
+    /**
+     * Creates a copy of a request sent to a different location, keeping its deadline and headers.
+     * The copy is not cancelled along with the original.
+     *
+     * @param request the request to copy
+     * @param url     the location of the resource
+     * @throws IllegalArgumentException if <code>request == null</code> or <code>url == null</code>
+     */
+    public Request(Request request, String url) {
+        if (request == null || url == null)
+            throw new IllegalArgumentException();
+        this.url = url;
+        this.requestMethod = request.requestMethod;
+        this.method = request.method;
+        this.endpoint = request.endpoint;
+        this.host = host(url);
+        this.headers.putAll(request.headers);
+        this.deadline = request.deadline;
+        this.bounded = request.bounded;
+    }
+
+    /**
+     * The location of the requested resource.
+     *
+     * @return the request url
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * The request method to be used for the HTTP request.
+     *
+     * @return the HTTP request method
+     */
+    public RequestMethod getRequestMethod() {
+        return requestMethod;
+    }
+
+    /**
+     * The Steam WebAPI method being called.
+     *
+     * @return <code>null</code> if the request is not a Steam WebAPI method call, the method otherwise
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * The family of Steam resources the request belongs to.
+     *
+     * @return the request endpoint
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * The host serving the requested resource.
+     *
+     * @return the host name of the request url, an empty string if the url has none
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Whether or not the request must complete before a deadline.
+     *
+     * @return <code>true</code> if the request has a deadline, <code>false</code> otherwise
+     */
+    public boolean hasDeadline() {
+        return bounded;
+    }
+
+    /**
+     * The time left before the deadline of the request.
+     *
+     * @param unit the unit of the returned time
+     * @return the time left, negative once the deadline has passed, {@link Long#MAX_VALUE} if the request has no deadline
+     */
+    public long getRemaining(TimeUnit unit) {
+        if (!bounded)
+            return Long.MAX_VALUE;
+        return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Updates the deadline of the request to be the specified time from now.
+     *
+     * @param timeout the time the request has to complete
+     * @param unit    the unit of the timeout
+     * @return this
+     * @throws IllegalArgumentException if <code>unit == null</code>
+     */
+    public Request setTimeout(long timeout, TimeUnit unit) {
+        if (unit == null)
+            throw new IllegalArgumentException();
+        this.deadline = System.nanoTime() + unit.toNanos(timeout);
+        this.bounded = true;
+        return this;
+    }
+
+    /**
+     * Whether or not the request has been cancelled.
+     *
+     * @return <code>true</code> if the request was cancelled, <code>false</code> otherwise
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the request, aborting it in the transport if it is in flight so its connection is given up right away.
+     */
+    public void cancel() {
+        Runnable hook;
+        synchronized (this) {
+            if (cancelled)
+                return;
+            cancelled = true;
+            hook = cancelHook;
+            cancelHook = null;
+        }
+        if (hook != null)
+            hook.run();
+    }
+
+    /**
+     * Updates the action a transport takes to abort the request while it is in flight, such as closing its connection.
+     * The action is run right away if the request has already been cancelled.
+     *
+     * @param cancelHook the abort action, <code>null</code> once the request is no longer in flight
+     */
+    public void setCancelHook(Runnable cancelHook) {
+        synchronized (this) {
+            if (!cancelled) {
+                this.cancelHook = cancelHook;
+                return;
+            }
+        }
+        if (cancelHook != null)
+            cancelHook.run();
+    }
+
+    /**
+     * The additional headers to be sent with the request.
+     *
+     * @return an unmodifiable view of the request headers
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Updates a header to be sent with the request.
+     *
+     * @param name  the header name
+     * @param value the header value, <code>null</code> to remove the header
+     * @return this
+     */
+    public Request setHeader(String name, String value) {
+        if (value == null)
+            headers.remove(name);
+        else
+            headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Extracts the host name from a url without the cost of parsing it into a {@link java.net.URL}.
+     *
+     * @param url the url
+     * @return the host name of the url, an empty string if the url has none
+     */
+    private static String host(String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        int end = start;
+        while (end < url.length()) {
+            char c = url.charAt(end);
+            if (c == '/' || c == ':' || c == '?' || c == '#')
+                break;
+            end++;
+        }
+        return url.substring(start, end).toLowerCase();
+    }
+}
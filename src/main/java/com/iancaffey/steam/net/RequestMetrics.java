@@ -0,0 +1,188 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.util.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RequestMetrics
+ * <p>
+ * An object which records the requests sent for a single Steam WebAPI method or family of Steam Community pages.
+ * The time of each request is split into the time spent waiting for room to be sent, on the network, and parsing the response,
+ * each kept in its own histogram.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class RequestMetrics {
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder byteCount = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> errorCounts = new ConcurrentHashMap<>();
+    private final Histogram queueTime;
+    private final Histogram networkTime;
+    private final Histogram parseTime;
+
+    /**
+     * Creates new empty metrics.
+     */
+    public RequestMetrics() {
+        this(new Histogram(), new Histogram(), new Histogram());
+    }
+
+    private RequestMetrics(Histogram queueTime, Histogram networkTime, Histogram parseTime) {
+        this.queueTime = queueTime;
+        this.networkTime = networkTime;
+        this.parseTime = parseTime;
+    }
+
+    /**
+     * The number of requests sent, including retries, hedged duplicates and requests refused before reaching Steam.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * The number of requests which did not succeed.
+     *
+     * @return the number of failed requests
+     */
+    public long getErrorCount() {
+        long errors = 0;
+        for (LongAdder count : errorCounts.values())
+            errors += count.sum();
+        return errors;
+    }
+
+    /**
+     * The number of requests which did not succeed, by response status.
+     * Requests which failed without a response are counted under {@link RetryPolicy#CONNECTION_FAILURE}, and requests refused before
+     * reaching Steam under {@link CircuitBreakers#CIRCUIT_OPEN} or {@link Bulkheads#BULKHEAD_FULL}.
+     *
+     * @return the number of failed requests of each status
+     */
+    public Map<Integer, Long> getErrorCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : errorCounts.entrySet())
+            counts.put(entry.getKey(), entry.getValue().sum());
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * The number of response body bytes read, after decompression.
+     *
+     * @return the number of bytes read
+     */
+    public long getByteCount() {
+        return byteCount.sum();
+    }
+
+    /**
+     * The time in nanoseconds requests waited for room in their bulkhead, the concurrency limit of their host and a communication thread.
+     *
+     * @return the queue time histogram
+     */
+    public Histogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * The time in nanoseconds requests spent sending and waiting on the response from Steam.
+     *
+     * @return the network time histogram
+     */
+    public Histogram getNetworkTime() {
+        return networkTime;
+    }
+
+    /**
+     * The time in nanoseconds successful requests spent parsing their response.
+     *
+     * @return the parse time histogram
+     */
+    public Histogram getParseTime() {
+        return parseTime;
+    }
+
+    /**
+     * Records the time a request waited before being sent.
+     *
+     * @param queueTime the time waited in nanoseconds
+     */
+    public void recordQueueTime(long queueTime) {
+        this.queueTime.record(queueTime);
+    }
+
+    /**
+     * Records the outcome of a request sent to Steam.
+     *
+     * @param status      the response status, {@link RetryPolicy#CONNECTION_FAILURE} if no response was received
+     * @param bytes       the number of response body bytes read
+     * @param networkTime the time in nanoseconds spent on the network
+     * @param parseTime   the time in nanoseconds spent parsing the response, <code>-1</code> if it was not parsed
+     */
+    public void record(int status, long bytes, long networkTime, long parseTime) {
+        requestCount.increment();
+        byteCount.add(bytes);
+        this.networkTime.record(networkTime);
+        if (parseTime >= 0)
+            this.parseTime.record(parseTime);
+        if (status != 200)
+            errorCounts.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a request refused before reaching Steam.
+     *
+     * @param status the status the request was refused with
+     */
+    public void recordRefused(int status) {
+        requestCount.increment();
+        errorCounts.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+    }
+
+    /**
+     * Creates a copy of the metrics, which does not change as requests are recorded in the original.
+     *
+     * @return the copied metrics
+     */
+    public RequestMetrics copy() {
+        RequestMetrics copy = new RequestMetrics(queueTime.copy(), networkTime.copy(), parseTime.copy());
+        copy.requestCount.add(requestCount.sum());
+        copy.byteCount.add(byteCount.sum());
+        for (Map.Entry<Integer, LongAdder> entry : errorCounts.entrySet())
+            copy.errorCounts.computeIfAbsent(entry.getKey(), ignored -> new LongAdder()).add(entry.getValue().sum());
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "requests=" + getRequestCount() + " errors=" + getErrorCount() + (errorCounts.isEmpty() ? "" : " " + getErrorCounts()) + " bytes=" + getByteCount() + '\n' +
+                format("queue", queueTime) + '\n' + format("network", networkTime) + '\n' + format("parse", parseTime);
+    }
+
+    /**
+     * Formats the distribution of a histogram of nanosecond times in milliseconds.
+     *
+     * @param name      the name of the histogram
+     * @param histogram the histogram
+     * @return the formatted histogram
+     */
+    private static String format(String name, Histogram histogram) {
+        return String.format("  %-8s count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms", name, histogram.getCount(),
+                millis(histogram.getMean()), millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMax()));
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
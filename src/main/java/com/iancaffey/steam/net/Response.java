@@ -0,0 +1,95 @@
+package com.iancaffey.steam.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response
+ * <p>
+ * An object representing the status, headers and body of an HTTP response.
+ * Closing the response drains any unread body so the underlying connection can be reused.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Response implements Closeable {
+    private final int status;
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final InputStream body;
+
+    /**
+     * Creates a new response with the specified characteristics.
+     *
+     * @param status  the HTTP status code
+     * @param headers the response headers
+     * @param body    the response body, <code>null</code> if there is no body
+     */
+    public Response(int status, Map<String, List<String>> headers, InputStream body) {
+        this.status = status;
+        if (headers != null)
+            for (Map.Entry<String, List<String>> entry : headers.entrySet())
+                if (entry.getKey() != null)
+                    this.headers.put(entry.getKey(), entry.getValue());
+        this.body = body;
+    }
+
+    /**
+     * The HTTP status code of the response.
+     *
+     * @return the response status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * The first value of the specified header, ignoring case.
+     *
+     * @param name the header name
+     * @return <code>null</code> if the header is not present, the header value otherwise
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * All the headers of the response.
+     *
+     * @return an unmodifiable view of the response headers
+     */
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * The body of the response.
+     *
+     * @return the response body, <code>null</code> if there is no body
+     */
+    public InputStream getBody() {
+        return body;
+    }
+
+    /**
+     * Drains and closes the response body.
+     *
+     * @throws IOException if an error occurs while draining the body
+     */
+    @Override
+    public void close() throws IOException {
+        if (body == null)
+            return;
+        try {
+            byte[] buffer = new byte[4096];
+            while (body.read(buffer) != -1) ;
+        } finally {
+            body.close();
+        }
+    }
+}
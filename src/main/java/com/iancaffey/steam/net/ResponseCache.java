@@ -0,0 +1,379 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Endpoint;
+import com.iancaffey.steam.Method;
+import com.iancaffey.steam.RequestMethod;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ResponseCache
+ * <p>
+ * An object which keeps recent Steam WebAPI response bodies in memory so repeated calls can be answered without a request.
+ * Each method is cached for its own time to live, and the least recently used responses are evicted once the cache exceeds its size.
+ * Responses are keyed by their query string with the WebAPI key removed, so the same call made with different keys shares an entry.
+ * <p>
+ * Expired responses which carried an <code>ETag</code> or <code>Last-Modified</code> header are kept so they can be revalidated.
+ * The next request for them asks Steam whether they changed, and a <code>304 Not Modified</code> answer refreshes the cached
+ * response instead of downloading it again.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class ResponseCache {
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private final long maxBytes;
+    private final Map<Method, Long> timesToLive = new EnumMap<>(Method.class);
+    private final Map<Endpoint, Long> endpointTimesToLive = new EnumMap<>(Endpoint.class);
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private long bytes;
+
+    /**
+     * Creates a new response cache with the default size and times to live.
+     * Game schemas and global achievement percentages are cached for an hour, game news for a minute and user profiles for 30 seconds.
+     */
+    public ResponseCache() {
+        this(DEFAULT_MAX_BYTES);
+        setTimeToLive(Method.GET_GAME_SCHEMA, 1, TimeUnit.HOURS);
+        setTimeToLive(Method.GET_GLOBAL_GAME_ACHIEVEMENT_PERCENTAGES, 1, TimeUnit.HOURS);
+        setTimeToLive(Method.GET_GAME_NEWS, 1, TimeUnit.MINUTES);
+        setTimeToLive(Method.GET_USER_PROFILES, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new response cache of a preset size which does not cache any method until a time to live is set.
+     *
+     * @param maxBytes the maximum total size of the cached response bodies
+     * @throws IllegalArgumentException if <code>maxBytes &lt; 0</code>
+     */
+    public ResponseCache(long maxBytes) {
+        if (maxBytes < 0)
+            throw new IllegalArgumentException();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Updates how long responses for a method are kept.
+     *
+     * @param method the Steam WebAPI method
+     * @param time   the time to live, <code>0</code> to stop caching the method
+     * @param unit   the unit of the time to live
+     * @return this
+     * @throws IllegalArgumentException if <code>method == null</code>, <code>unit == null</code> or <code>time &lt; 0</code>
+     */
+    public ResponseCache setTimeToLive(Method method, long time, TimeUnit unit) {
+        if (method == null || unit == null || time < 0)
+            throw new IllegalArgumentException();
+        synchronized (timesToLive) {
+            if (time == 0)
+                timesToLive.remove(method);
+            else
+                timesToLive.put(method, unit.toNanos(time));
+        }
+        return this;
+    }
+
+    /**
+     * Updates how long responses from an endpoint are kept, such as the Steam Community inventory pages.
+     * The time to live of a method takes precedence over the time to live of its endpoint.
+     *
+     * @param endpoint the endpoint
+     * @param time     the time to live, <code>0</code> to stop caching the endpoint
+     * @param unit     the unit of the time to live
+     * @return this
+     * @throws IllegalArgumentException if <code>endpoint == null</code>, <code>unit == null</code> or <code>time &lt; 0</code>
+     */
+    public ResponseCache setTimeToLive(Endpoint endpoint, long time, TimeUnit unit) {
+        if (endpoint == null || unit == null || time < 0)
+            throw new IllegalArgumentException();
+        synchronized (timesToLive) {
+            if (time == 0)
+                endpointTimesToLive.remove(endpoint);
+            else
+                endpointTimesToLive.put(endpoint, unit.toNanos(time));
+        }
+        return this;
+    }
+
+    /**
+     * How long responses for a method are kept.
+     *
+     * @param method the Steam WebAPI method
+     * @param unit   the unit of the returned time
+     * @return the time to live, <code>0</code> if the method is not cached
+     */
+    public long getTimeToLive(Method method, TimeUnit unit) {
+        return unit.convert(timeToLive(method, null), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * How long responses from an endpoint are kept.
+     *
+     * @param endpoint the endpoint
+     * @param unit     the unit of the returned time
+     * @return the time to live, <code>0</code> if the endpoint is not cached
+     */
+    public long getTimeToLive(Endpoint endpoint, TimeUnit unit) {
+        return unit.convert(timeToLive(null, endpoint), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether or not the response to a request may be cached.
+     * Only GET requests for methods or endpoints with a time to live are cached.
+     *
+     * @param request the request
+     * @return <code>true</code> if the response may be cached, <code>false</code> otherwise
+     */
+    public boolean isCacheable(Request request) {
+        return request != null && request.getRequestMethod() == RequestMethod.GET && timeToLive(request) > 0;
+    }
+
+    /**
+     * Looks up the cached response body for a request.
+     *
+     * @param request the request
+     * @return <code>null</code> if the response is not cached or has expired, the response body otherwise
+     */
+    public byte[] get(Request request) {
+        if (!isCacheable(request))
+            return null;
+        String key = key(request.getUrl());
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.expires < 0) {
+                hits.incrementAndGet();
+                return entry.body;
+            }
+            if (entry != null && entry.etag == null && entry.lastModified == null) {
+                entries.remove(key);
+                bytes -= entry.body.length;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Adds the validators of an expired cached response to a request, so Steam can answer with <code>304 Not Modified</code>
+     * if the response has not changed.
+     *
+     * @param request the request
+     * @return <code>true</code> if the request was made conditional, <code>false</code> if there is no response to revalidate
+     */
+    public boolean revalidate(Request request) {
+        if (!isCacheable(request))
+            return false;
+        String etag;
+        String lastModified;
+        synchronized (entries) {
+            Entry entry = entries.get(key(request.getUrl()));
+            if (entry == null)
+                return false;
+            etag = entry.etag;
+            lastModified = entry.lastModified;
+        }
+        if (etag == null && lastModified == null)
+            return false;
+        request.setHeader("If-None-Match", etag);
+        request.setHeader("If-Modified-Since", lastModified);
+        return true;
+    }
+
+    /**
+     * Refreshes the cached response for a request which Steam answered with <code>304 Not Modified</code>,
+     * keeping it for another time to live. The revalidated response counts as a hit rather than a miss.
+     *
+     * @param request the revalidated request
+     * @return <code>null</code> if the response is no longer cached, the response body otherwise
+     */
+    public byte[] refresh(Request request) {
+        if (!isCacheable(request))
+            return null;
+        long expires = System.nanoTime() + timeToLive(request);
+        synchronized (entries) {
+            Entry entry = entries.get(key(request.getUrl()));
+            if (entry == null)
+                return null;
+            entry.expires = expires;
+            misses.decrementAndGet();
+            hits.incrementAndGet();
+            revalidations.incrementAndGet();
+            return entry.body;
+        }
+    }
+
+    /**
+     * Caches the response body for a request.
+     * Bodies larger than the cache are not stored.
+     *
+     * @param request the request
+     * @param body    the response body
+     */
+    public void put(Request request, byte[] body) {
+        put(request, body, null, null);
+    }
+
+    /**
+     * Caches the response body for a request along with the validators used to revalidate it once it expires.
+     * Bodies larger than the cache are not stored.
+     *
+     * @param request      the request
+     * @param body         the response body
+     * @param etag         the <code>ETag</code> header of the response, <code>null</code> if there is none
+     * @param lastModified the <code>Last-Modified</code> header of the response, <code>null</code> if there is none
+     */
+    public void put(Request request, byte[] body, String etag, String lastModified) {
+        if (body == null || body.length > maxBytes || !isCacheable(request))
+            return;
+        Entry entry = new Entry(body, System.nanoTime() + timeToLive(request), etag, lastModified);
+        synchronized (entries) {
+            Entry previous = entries.put(key(request.getUrl()), entry);
+            if (previous != null)
+                bytes -= previous.body.length;
+            bytes += body.length;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (bytes > maxBytes && iterator.hasNext()) {
+                bytes -= iterator.next().body.length;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /**
+     * The number of cached responses.
+     *
+     * @return the number of entries in the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The total size of the cached response bodies.
+     *
+     * @return the size of the cache in bytes
+     */
+    public long getBytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    /**
+     * The number of lookups answered from the cache.
+     *
+     * @return the cache hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * The number of lookups which had to be sent to Steam.
+     *
+     * @return the cache miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * The number of responses evicted to keep the cache within its size.
+     *
+     * @return the cache eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * The number of expired responses Steam confirmed had not changed.
+     *
+     * @return the revalidation count
+     */
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    /**
+     * The fraction of lookups answered from the cache.
+     *
+     * @return the cache hit rate, <code>0</code> if there have been no lookups
+     */
+    public double getHitRate() {
+        long hits = this.hits.get();
+        long total = hits + misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private long timeToLive(Request request) {
+        return timeToLive(request.getMethod(), request.getEndpoint());
+    }
+
+    private long timeToLive(Method method, Endpoint endpoint) {
+        synchronized (timesToLive) {
+            Long time = method == null ? null : timesToLive.get(method);
+            if (time == null && endpoint != null)
+                time = endpointTimesToLive.get(endpoint);
+            return time == null ? 0 : time;
+        }
+    }
+
+    /**
+     * Removes the WebAPI key from a query string, so calls made with different keys of a pool are treated as identical.
+     *
+     * @param url the query string
+     * @return the query string without the WebAPI key
+     */
+    public static String key(String url) {
+        int start = url.indexOf("?key=");
+        if (start == -1)
+            start = url.indexOf("&key=");
+        if (start == -1)
+            return url;
+        int end = url.indexOf('&', start + 1);
+        return end == -1 ? url.substring(0, start) : url.substring(0, start + 1) + url.substring(end + 1);
+    }
+
+    /**
+     * Entry
+     * <p>
+     * A cached response body, the time it expires and the validators used to revalidate it.
+     */
+    private static class Entry {
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private long expires;
+
+        private Entry(byte[] body, long expires, String etag, String lastModified) {
+            this.body = body;
+            this.expires = expires;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.iancaffey.steam.net;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RetryBudget
+ * <p>
+ * An object which caps retries to a fraction of the requests being sent, so retries cannot multiply the load on Steam during an outage.
+ * Every new request earns a fraction of a retry, up to a fixed number of banked retries, and every retry spends one.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final int capacity;
+    private final AtomicLong exhausted = new AtomicLong();
+    private double balance;
+
+    /**
+     * Creates a new retry budget allowing retries for up to 20% of requests, with up to 100 retries banked.
+     */
+    public RetryBudget() {
+        this(0.2, 100);
+    }
+
+    /**
+     * Creates a new retry budget with the specified characteristics.
+     *
+     * @param ratio    the number of retries earned by each new request
+     * @param capacity the maximum number of retries which can be banked
+     * @throws IllegalArgumentException if <code>ratio &lt; 0</code> or <code>capacity &lt; 0</code>
+     */
+    public RetryBudget(double ratio, int capacity) {
+        if (ratio < 0 || capacity < 0)
+            throw new IllegalArgumentException();
+        this.ratio = ratio;
+        this.capacity = capacity;
+        this.balance = capacity;
+    }
+
+    /**
+     * Records a new request, earning a fraction of a retry.
+     */
+    public synchronized void deposit() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    /**
+     * Attempts to spend a retry.
+     *
+     * @return <code>true</code> if the retry may be sent, <code>false</code> if the budget is exhausted
+     */
+    public boolean withdraw() {
+        synchronized (this) {
+            if (balance >= 1) {
+                balance -= 1;
+                return true;
+            }
+        }
+        exhausted.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * The number of retries which can currently be sent.
+     *
+     * @return the retry balance
+     */
+    public synchronized double getBalance() {
+        return balance;
+    }
+
+    /**
+     * The number of retries refused because the budget was exhausted.
+     *
+     * @return the number of refused retries
+     */
+    public long getExhaustedCount() {
+        return exhausted.get();
+    }
+}
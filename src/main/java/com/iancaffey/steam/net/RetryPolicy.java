@@ -0,0 +1,127 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.RequestMethod;
+import com.iancaffey.steam.util.Random;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RetryPolicy
+ * <p>
+ * An object which decides whether a failed request should be sent again and how long to wait before doing so.
+ * Delays grow exponentially with decorrelated jitter, so clients failing at the same moment spread their retries out,
+ * and a <code>Retry-After</code> header from Steam is always honored.
+ * <p>
+ * GET requests are retried after connection failures, throttling (429) and server errors (500, 502, 503, 504).
+ * Other requests may already have been processed when a connection fails, so they are only retried when Steam
+ * explicitly refused them (429, 503).
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class RetryPolicy {
+    /**
+     * A policy which never retries.
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, TimeUnit.MILLISECONDS);
+    /**
+     * The status reported for a request which failed before a response was received.
+     */
+    public static final int CONNECTION_FAILURE = -1;
+    private final int maxAttempts;
+    private final long baseDelay;
+    private final long maxDelay;
+
+    /**
+     * Creates a new retry policy making up to 3 attempts, waiting between 100 milliseconds and 10 seconds between attempts.
+     */
+    public RetryPolicy() {
+        this(3, 100, 10000, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new retry policy with the specified characteristics.
+     *
+     * @param maxAttempts the maximum number of times a request is sent, including the first attempt
+     * @param baseDelay   the minimum time to wait between attempts
+     * @param maxDelay    the maximum time to wait between attempts
+     * @param unit        the unit of the delays
+     * @throws IllegalArgumentException if <code>maxAttempts &lt; 1</code>, <code>baseDelay &lt; 0</code>, <code>maxDelay &lt; baseDelay</code> or <code>unit == null</code>
+     */
+    public RetryPolicy(int maxAttempts, long baseDelay, long maxDelay, TimeUnit unit) {
+        if (maxAttempts < 1 || baseDelay < 0 || maxDelay < baseDelay || unit == null)
+            throw new IllegalArgumentException();
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = unit.toNanos(baseDelay);
+        this.maxDelay = unit.toNanos(maxDelay);
+    }
+
+    /**
+     * The maximum number of times a request is sent, including the first attempt.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Whether or not a request which failed with the specified status may be sent again.
+     *
+     * @param request the failed request
+     * @param status  the response status, {@link #CONNECTION_FAILURE} if no response was received
+     * @return <code>true</code> if the request may be retried, <code>false</code> otherwise
+     */
+    public boolean isRetryable(Request request, int status) {
+        if (status == 429 || status == 503)
+            return true;
+        if (request.getRequestMethod() != RequestMethod.GET)
+            return false;
+        return status == CONNECTION_FAILURE || status == 500 || status == 502 || status == 504;
+    }
+
+    /**
+     * Calculates how long to wait before sending a failed request again.
+     *
+     * @param request       the failed request
+     * @param status        the response status, {@link #CONNECTION_FAILURE} if no response was received
+     * @param retryAfter    the value of the response <code>Retry-After</code> header, <code>null</code> if not present
+     * @param attempt       the number of attempts made so far
+     * @param previousDelay the delay in nanoseconds before the previous attempt, <code>0</code> after the first attempt
+     * @return the delay in nanoseconds before the next attempt, <code>-1</code> if the request should not be retried
+     */
+    public long getDelay(Request request, int status, String retryAfter, int attempt, long previousDelay) {
+        if (attempt >= maxAttempts || !isRetryable(request, status))
+            return -1;
+        long delay = Math.min(maxDelay, (long) Random.nextDouble(baseDelay, Math.max(baseDelay, previousDelay * 3)));
+        long requested = parseRetryAfter(retryAfter);
+        if (requested > maxDelay)
+            return -1;
+        return Math.max(delay, requested);
+    }
+
+    /**
+     * Parses a <code>Retry-After</code> header given either in seconds or as an HTTP date.
+     *
+     * @param retryAfter the header value
+     * @return the delay in nanoseconds requested by the header, <code>0</code> if no valid delay was requested
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isEmpty())
+            return 0;
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException ignored) {
+            //Not a number of seconds, try an HTTP date
+        }
+        try {
+            long millis = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(millis - System.currentTimeMillis()));
+        } catch (DateTimeParseException ignored) {
+            return 0;
+        }
+    }
+}
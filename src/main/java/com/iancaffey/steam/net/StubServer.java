@@ -0,0 +1,117 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.RequestMethod;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * StubServer
+ * <p>
+ * A local HTTP server which answers requests using a transport, usually a {@link StubTransport}.
+ * Pointing the communicator base urls at the server exercises the whole stack, including the real HTTP transport and its
+ * connection pools, without reaching the Steam servers.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class StubServer implements AutoCloseable {
+    private final Transport transport;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String url;
+
+    /**
+     * Creates and starts a new stub server on the loopback interface.
+     *
+     * @param transport the transport answering the requests
+     * @param port      the port to listen on, <code>0</code> to pick a free port
+     * @throws IOException              if unable to bind the port
+     * @throws IllegalArgumentException if <code>transport == null</code>
+     */
+    public StubServer(Transport transport, int port) throws IOException {
+        if (transport == null)
+            throw new IllegalArgumentException();
+        this.transport = transport;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "steam-stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.url = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The base url of the server, to be used as the WebAPI and Steam Community base urls.
+     *
+     * @return the server base url (ie. <code>http://127.0.0.1:8080</code>)
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Answers a single HTTP exchange with the response from the transport.
+     *
+     * @param exchange the HTTP exchange
+     * @throws IOException if unable to write the response
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            RequestMethod requestMethod;
+            try {
+                requestMethod = RequestMethod.valueOf(exchange.getRequestMethod());
+            } catch (IllegalArgumentException e) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Request request = new Request(url + exchange.getRequestURI(), requestMethod);
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet())
+                if (!header.getValue().isEmpty())
+                    request.setHeader(header.getKey(), header.getValue().get(0));
+            try (Response response = transport.send(request)) {
+                for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet())
+                    if (!header.getKey().equalsIgnoreCase("Content-Length") && !header.getKey().equalsIgnoreCase("Transfer-Encoding"))
+                        exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+                InputStream body = response.getBody();
+                if (body == null) {
+                    exchange.sendResponseHeaders(response.getStatus(), -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(response.getStatus(), 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = body.read(buffer)) != -1)
+                        out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                //Closing the exchange without a response drops the connection, just like an injected connection failure
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stops the server, closing any open connections.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
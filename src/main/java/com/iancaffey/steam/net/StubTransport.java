@@ -0,0 +1,261 @@
+package com.iancaffey.steam.net;
+
+import com.iancaffey.steam.Method;
+import com.iancaffey.steam.util.Random;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StubTransport
+ * <p>
+ * A transport which answers requests in-process with recorded Steam responses, for testing and benchmarking without the Steam servers.
+ * Responses are routed by the longest registered prefix of the path of the request url, ignoring its host and query string,
+ * so the stub serves both the WebAPI and Steam Community pages. Each request can be delayed by a random latency and failed at a configurable rate, so the
+ * retry, hedging and circuit breaking behaviour of the whole stack can be exercised offline.
+ * <p>
+ * The stub blocks the sending thread for the latency of each request, like a real connection would, and honors request deadlines.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class StubTransport implements Transport {
+    private static final Map<String, List<String>> JSON_HEADERS = Collections.singletonMap("Content-Type", Collections.singletonList("application/json"));
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long minLatency;
+    private volatile long maxLatency;
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+
+    /**
+     * Serves a JSON response for every request to a path.
+     *
+     * @param path the path, or path prefix, of the request url (ie. <code>/ISteamUser/GetPlayerSummaries/v2/</code>)
+     * @param body the JSON response body
+     * @return this
+     * @throws IllegalArgumentException if <code>path == null</code> or <code>body == null</code>
+     */
+    public StubTransport route(String path, String body) {
+        if (body == null)
+            throw new IllegalArgumentException();
+        return route(path, 200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serves a JSON response for every call of a Steam WebAPI method.
+     *
+     * @param method the Steam WebAPI method
+     * @param body   the JSON response body
+     * @return this
+     * @throws IllegalArgumentException if <code>method == null</code> or <code>body == null</code>
+     */
+    public StubTransport route(Method method, String body) {
+        if (method == null)
+            throw new IllegalArgumentException();
+        return route(method.getPath(), body);
+    }
+
+    /**
+     * Serves a response with the specified status for every request to a path.
+     *
+     * @param path   the path of the request url
+     * @param status the HTTP status code
+     * @param body   the response body, <code>null</code> for no body
+     * @return this
+     * @throws IllegalArgumentException if <code>path == null</code>
+     */
+    public StubTransport route(String path, int status, byte[] body) {
+        if (path == null)
+            throw new IllegalArgumentException();
+        routes.put(path, new Route(status, body));
+        return this;
+    }
+
+    /**
+     * Serves a recorded JSON response from a file for every request to a path.
+     *
+     * @param path the path of the request url
+     * @param file the file holding the recorded response body
+     * @return this
+     * @throws IOException              if unable to read the file
+     * @throws IllegalArgumentException if <code>path == null</code> or <code>file == null</code>
+     */
+    public StubTransport load(String path, Path file) throws IOException {
+        if (file == null)
+            throw new IllegalArgumentException();
+        return route(path, 200, Files.readAllBytes(file));
+    }
+
+    /**
+     * Removes the response served for a path, so requests to it are answered with <code>404 Not Found</code>.
+     *
+     * @param path the path of the request url
+     */
+    public void remove(String path) {
+        routes.remove(path);
+    }
+
+    /**
+     * Updates the latency added to every request, chosen uniformly at random between the minimum and maximum.
+     *
+     * @param min  the minimum latency
+     * @param max  the maximum latency
+     * @param unit the unit of the latencies
+     * @throws IllegalArgumentException if <code>min &lt; 0</code>, <code>max &lt; min</code> or <code>unit == null</code>
+     */
+    public void setLatency(long min, long max, TimeUnit unit) {
+        if (min < 0 || max < min || unit == null)
+            throw new IllegalArgumentException();
+        this.minLatency = unit.toNanos(min);
+        this.maxLatency = unit.toNanos(max);
+    }
+
+    /**
+     * Updates the fraction of requests which fail, and how they fail.
+     *
+     * @param failureRate   the fraction of requests which fail
+     * @param failureStatus the HTTP status code failed requests are answered with, {@link RetryPolicy#CONNECTION_FAILURE}
+     *                      to fail them without a response
+     * @throws IllegalArgumentException if the rate is not within <code>[0, 1]</code>
+     */
+    public void setFailureRate(double failureRate, int failureStatus) {
+        if (failureRate < 0 || failureRate > 1)
+            throw new IllegalArgumentException();
+        this.failureRate = failureRate;
+        this.failureStatus = failureStatus;
+    }
+
+    /**
+     * The number of requests the stub has received.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * The number of requests the stub has failed on purpose.
+     *
+     * @return the injected failure count
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Answers a request with the response routed for its path, after the configured latency.
+     *
+     * @param request the request to send
+     * @return the routed response, <code>404 Not Found</code> if no response is routed for the path
+     * @throws SocketTimeoutException if the deadline of the request passes during the latency
+     * @throws IOException            if the request was chosen to fail without a response
+     */
+    @Override
+    public Response send(Request request) throws IOException {
+        requests.incrementAndGet();
+        delay(request);
+        if (failureRate > 0 && Random.nextDouble(0, 1) < failureRate) {
+            failures.incrementAndGet();
+            if (failureStatus == RetryPolicy.CONNECTION_FAILURE)
+                throw new IOException("Injected connection failure");
+            return new Response(failureStatus, null, null);
+        }
+        Route route = route(path(request.getUrl()));
+        if (route == null)
+            return new Response(404, null, null);
+        return new Response(route.status, JSON_HEADERS, route.body == null ? null : new ByteArrayInputStream(route.body));
+    }
+
+    /**
+     * Blocks the sending thread for a random latency, giving up once the deadline of the request passes.
+     *
+     * @param request the request being sent
+     * @throws IOException if the deadline passes or the thread is interrupted
+     */
+    private void delay(Request request) throws IOException {
+        long latency = maxLatency == minLatency ? minLatency : (long) Random.nextDouble(minLatency, maxLatency);
+        if (latency <= 0)
+            return;
+        long remaining = request.getRemaining(TimeUnit.NANOSECONDS);
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.min(latency, Math.max(0, remaining)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the stub response");
+        }
+        if (latency > remaining)
+            throw new SocketTimeoutException("Deadline passed while waiting for the stub response");
+    }
+
+    /**
+     * Finds the response routed for a path, preferring an exact match over the longest matching prefix.
+     *
+     * @param path the path of the request url
+     * @return <code>null</code> if no response is routed for the path, the route otherwise
+     */
+    private Route route(String path) {
+        Route route = routes.get(path);
+        if (route != null)
+            return route;
+        String longest = null;
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            if (path.startsWith(entry.getKey()) && (longest == null || entry.getKey().length() > longest.length())) {
+                longest = entry.getKey();
+                route = entry.getValue();
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Extracts the path from a url, without its scheme, host or query string.
+     *
+     * @param url the url
+     * @return the path of the url
+     */
+    static String path(String url) {
+        int start = url.indexOf("://");
+        start = url.indexOf('/', start < 0 ? 0 : start + 3);
+        if (start < 0)
+            return "/";
+        int end = url.indexOf('?', start);
+        return end < 0 ? url.substring(start) : url.substring(start, end);
+    }
+
+    /**
+     * Does nothing, as the stub holds no connections.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Route
+     * <p>
+     * A response served for a path.
+     */
+    private static class Route {
+        private final int status;
+        private final byte[] body;
+
+        private Route(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
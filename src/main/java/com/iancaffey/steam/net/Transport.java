@@ -0,0 +1,31 @@
+package com.iancaffey.steam.net;
+
+import java.io.IOException;
+
+/**
+ * Transport
+ * <p>
+ * An object which carries requests to the Steam servers and hands back the raw responses.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public interface Transport extends AutoCloseable {
+    /**
+     * Sends a request and waits for the response status and headers to arrive.
+     * The caller is responsible for closing the response once the body has been consumed.
+     * Transports should give up once the deadline of the request has passed (see {@link Request#getRemaining}),
+     * and abort as soon as the request is cancelled (see {@link Request#setCancelHook}).
+     *
+     * @param request the request to send
+     * @return the response to the request
+     * @throws IOException if unable to communicate with the remote host
+     */
+    public Response send(Request request) throws IOException;
+
+    /**
+     * Releases any connections held by the transport.
+     */
+    @Override
+    public void close();
+}
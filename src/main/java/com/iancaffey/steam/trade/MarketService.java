@@ -15,7 +15,7 @@ import java.net.URLEncoder;
  * @since 1.0
  */
 public class MarketService {
-    private static final String INVENTORY_PATTERN = "http://steamcommunity.com/market/priceoverview/?currency=%s&appid=%s&market_hash_name=%s";
+    private static final String INVENTORY_PATTERN = "%s/market/priceoverview/?currency=%s&appid=%s&market_hash_name=%s";
     private final Steam steam;
 
     /**
@@ -62,7 +62,7 @@ public class MarketService {
             return null;
         PriceHistory history;
         try {
-            history = steam.getDataParser().build(PriceHistory.class, steam.getCommunicator().retrieve(String.format(INVENTORY_PATTERN, (currency == null ? Currency.USD : currency).getToken(), gameId, URLEncoder.encode(marketHashName, "UTF-8")), RequestMethod.GET));
+            history = steam.getCommunicator().retrieve(PriceHistory.class, String.format(INVENTORY_PATTERN, steam.getCommunicator().getCommunityUrl(), (currency == null ? Currency.USD : currency).getToken(), gameId, URLEncoder.encode(marketHashName, "UTF-8")), RequestMethod.GET);
             if (history == null)
                 return null;
             history.setCurrency(currency);
@@ -11,7 +11,8 @@ import com.iancaffey.steam.*;
  * @since 1.0
  */
 public class TradeService {
-    private static final String INVENTORY_PATTERN = "http://steamcommunity.com/profiles/%s/inventory/json/%s/%s";
+    private static final String INVENTORY_PATTERN = "%s/profiles/%s/inventory/json/%s/%s";
+    private static final String ACCEPT_PATTERN = "%s/tradeoffer/%s/accept";
     protected final Steam steam;
 
     public TradeService(Steam steam) {
@@ -35,7 +36,7 @@ public class TradeService {
         int state = offer.getState();
         if (state == Offer.ACCEPTED || state == Offer.CANCELED || state == Offer.EMAIL_CANCELED || state == Offer.COUNTERED)
             return false;
-        boolean cancelled = steam.getDataParser().build(Boolean.class, steam.getCommunicator().retrieve(Method.CANCEL_TRADE_OFFER, offer.getOfferId()));
+        boolean cancelled = steam.getCommunicator().retrieve(Boolean.class, Method.CANCEL_TRADE_OFFER, DataFormat.JSON, offer.getOfferId());
         if (cancelled)
             offer.setState(Offer.CANCELED);
         return cancelled;
@@ -57,7 +58,7 @@ public class TradeService {
         int state = offer.getState();
         if (state == Offer.ACCEPTED || state == Offer.CANCELED || state == Offer.EMAIL_CANCELED || state == Offer.COUNTERED)
             return false;
-        boolean cancelled = steam.getDataParser().build(Boolean.class, steam.getCommunicator().retrieve(Method.DECLINE_TRADE_OFFER, offer.getOfferId()));
+        boolean cancelled = steam.getCommunicator().retrieve(Boolean.class, Method.DECLINE_TRADE_OFFER, DataFormat.JSON, offer.getOfferId());
         if (cancelled)
             offer.setState(Offer.DECLINED);
         return cancelled;
@@ -82,7 +83,7 @@ public class TradeService {
         if (state == Offer.ACCEPTED || state == Offer.CANCELED || state == Offer.EMAIL_CANCELED || state == Offer.COUNTERED)
             return false;
         //TODO: Work out why this gets a http 411 response
-        boolean accepted = steam.getDataParser().build(Boolean.class, steam.getCommunicator().retrieve("http://steamcommunity.com/tradeoffer/" + offer.getOfferId() + "/accept", RequestMethod.POST));
+        boolean accepted = steam.getCommunicator().retrieve(Boolean.class, String.format(ACCEPT_PATTERN, steam.getCommunicator().getCommunityUrl(), offer.getOfferId()), RequestMethod.POST);
         if (accepted)
             offer.setState(Offer.ACCEPTED);
         return accepted;
@@ -127,7 +128,7 @@ public class TradeService {
     public Item[] getInventory(long userId, long gameId, int contextId) {
         if (userId == -1 || gameId == -1 || contextId == -1)
             return null;
-        Item[] items = steam.getDataParser().build(Item[].class, steam.getCommunicator().retrieve(String.format(INVENTORY_PATTERN, userId, gameId, contextId), RequestMethod.GET), DataFormat.JSON);
+        Item[] items = steam.getCommunicator().retrieve(Item[].class, String.format(INVENTORY_PATTERN, steam.getCommunicator().getCommunityUrl(), userId, gameId, contextId), RequestMethod.GET);
         if (items == null)
             return null;
         for (Item item : items) {
@@ -190,7 +191,7 @@ public class TradeService {
      * @see Offer
      */
     public Offer getOffer(int offerId, Language descriptionLanguage, DataFormat format) {
-        return offerId == -1 ? null : steam.getDataParser().build(Offer.class, steam.getCommunicator().retrieve(Method.GET_TRADE_OFFER, offerId, (descriptionLanguage == null ? Language.ENGLISH : descriptionLanguage).getToken()), format);
+        return offerId == -1 ? null : steam.getCommunicator().retrieve(Offer.class, Method.GET_TRADE_OFFER, format, offerId, (descriptionLanguage == null ? Language.ENGLISH : descriptionLanguage).getToken());
     }
 
     /**
@@ -298,6 +299,6 @@ public class TradeService {
             offerDepth = OfferDepth.HISTORICAL;
         if (descriptionLanguage == null)
             descriptionLanguage = Language.ENGLISH;
-        return steam.getDataParser().build(TradeHistory.class, steam.getCommunicator().retrieve(Method.GET_TRADE_HISTORY, offerType != OfferType.RECEIVED, offerType != OfferType.SENT, depth == DescriptorDepth.THOROUGH, descriptionLanguage.getToken(), offerDepth == OfferDepth.CURRENT, offerDepth == OfferDepth.HISTORICAL, timestamp), format);
+        return steam.getCommunicator().retrieve(TradeHistory.class, Method.GET_TRADE_HISTORY, format, offerType != OfferType.RECEIVED, offerType != OfferType.SENT, depth == DescriptorDepth.THOROUGH, descriptionLanguage.getToken(), offerDepth == OfferDepth.CURRENT, offerDepth == OfferDepth.HISTORICAL, timestamp);
     }
 }
@@ -0,0 +1,194 @@
+package com.iancaffey.steam.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * FlightEvent
+ * <p>
+ * A JDK Flight Recorder event type defined at runtime, so recordings of the JVM show what the Steam API wrapper was doing.
+ * Flight Recorder is looked up reflectively as it is not part of the Java 8 API, and on JVMs without it every event is a no-op.
+ * While no recording has the event enabled, {@link #begin()} returns <code>null</code> after a single check and nothing is allocated.
+ * <p>
+ * Events are begun before the work they time and committed with their field values once it completes:
+ * <pre>
+ * Object event = EVENT.begin();
+ * ...
+ * if (event != null)
+ *     EVENT.commit(event, value1, value2);
+ * </pre>
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class FlightEvent {
+    private static final boolean AVAILABLE;
+    private static final MethodHandle CREATE;
+    private static final MethodHandle NEW_EVENT;
+    private static final MethodHandle ANNOTATION;
+    private static final MethodHandle FIELD;
+    private static final MethodHandle BEGIN;
+    private static final MethodHandle IS_ENABLED;
+    private static final MethodHandle SET;
+    private static final MethodHandle COMMIT;
+    private static final Class<?>[] ANNOTATIONS;
+    private final String name;
+    private final int fieldCount;
+    private final Object factory;
+    private final Object template;
+    private volatile boolean broken;
+
+    static {
+        boolean available = false;
+        MethodHandle create = null, newEvent = null, annotation = null, field = null, begin = null, isEnabled = null, set = null, commit = null;
+        Class<?>[] annotations = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> event = Class.forName("jdk.jfr.Event");
+            Class<?> factory = Class.forName("jdk.jfr.EventFactory");
+            Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+            annotations = new Class<?>[]{Class.forName("jdk.jfr.Name"), Class.forName("jdk.jfr.Label"), Class.forName("jdk.jfr.Description"),
+                    Class.forName("jdk.jfr.Category"), Class.forName("jdk.jfr.StackTrace")};
+            create = lookup.findStatic(factory, "create", MethodType.methodType(factory, List.class, List.class)).asType(MethodType.methodType(Object.class, List.class, List.class));
+            newEvent = lookup.findVirtual(factory, "newEvent", MethodType.methodType(event)).asType(MethodType.methodType(Object.class, Object.class));
+            annotation = lookup.findConstructor(annotationElement, MethodType.methodType(void.class, Class.class, Object.class)).asType(MethodType.methodType(Object.class, Class.class, Object.class));
+            field = lookup.findConstructor(valueDescriptor, MethodType.methodType(void.class, Class.class, String.class, List.class)).asType(MethodType.methodType(Object.class, Class.class, String.class, List.class));
+            begin = lookup.findVirtual(event, "begin", MethodType.methodType(void.class)).asType(MethodType.methodType(void.class, Object.class));
+            isEnabled = lookup.findVirtual(event, "isEnabled", MethodType.methodType(boolean.class)).asType(MethodType.methodType(boolean.class, Object.class));
+            set = lookup.findVirtual(event, "set", MethodType.methodType(void.class, int.class, Object.class)).asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+            commit = lookup.findVirtual(event, "commit", MethodType.methodType(void.class)).asType(MethodType.methodType(void.class, Object.class));
+            available = true;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            //Flight Recorder is not part of this JVM
+        }
+        AVAILABLE = available;
+        CREATE = create;
+        NEW_EVENT = newEvent;
+        ANNOTATION = annotation;
+        FIELD = field;
+        BEGIN = begin;
+        IS_ENABLED = isEnabled;
+        SET = set;
+        COMMIT = commit;
+        ANNOTATIONS = annotations;
+    }
+
+    /**
+     * Creates and registers a new event type in the "Steam" category. Stack traces are not recorded, as events are committed
+     * on communication threads whose stacks say nothing about the caller.
+     *
+     * @param name        the unique name of the event type (ie. <code>com.iancaffey.steam.Request</code>)
+     * @param label       the human-readable name of the event type
+     * @param description the description of the event type
+     * @param fieldNames  the names of the fields of the event type, in the order their values are committed
+     * @param fieldTypes  the types of the fields, each a primitive type or <code>String</code>
+     * @throws IllegalArgumentException if any argument is <code>null</code> or the field names and types differ in length
+     */
+    public FlightEvent(String name, String label, String description, String[] fieldNames, Class<?>[] fieldTypes) {
+        if (name == null || label == null || description == null || fieldNames == null || fieldTypes == null || fieldNames.length != fieldTypes.length)
+            throw new IllegalArgumentException();
+        this.name = name;
+        this.fieldCount = fieldNames.length;
+        Object factory = null, template = null;
+        if (AVAILABLE) {
+            try {
+                List<Object> annotations = Arrays.asList(ANNOTATION.invokeExact(ANNOTATIONS[0], (Object) name), ANNOTATION.invokeExact(ANNOTATIONS[1], (Object) label),
+                        ANNOTATION.invokeExact(ANNOTATIONS[2], (Object) description), ANNOTATION.invokeExact(ANNOTATIONS[3], (Object) new String[]{"Steam"}),
+                        ANNOTATION.invokeExact(ANNOTATIONS[4], (Object) Boolean.FALSE));
+                List<Object> fields = new ArrayList<>();
+                for (int i = 0; i < fieldNames.length; i++)
+                    fields.add(FIELD.invokeExact(fieldTypes[i], fieldNames[i], Collections.emptyList()));
+                factory = CREATE.invokeExact(annotations, fields);
+                template = NEW_EVENT.invokeExact(factory);
+            } catch (Throwable e) {
+                e.printStackTrace();
+                factory = null;
+                template = null;
+            }
+        }
+        this.factory = factory;
+        this.template = template;
+    }
+
+    /**
+     * The unique name of the event type.
+     *
+     * @return the event type name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Determines if a running recording has the event type enabled.
+     *
+     * @return <code>true</code> if events of this type are being recorded, <code>false</code> otherwise
+     */
+    public boolean isEnabled() {
+        if (template == null || broken)
+            return false;
+        try {
+            return (boolean) IS_ENABLED.invokeExact(template);
+        } catch (Throwable e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    /**
+     * Starts timing a new event.
+     *
+     * @return <code>null</code> if the event type is not being recorded, the started event otherwise
+     */
+    public Object begin() {
+        if (!isEnabled())
+            return null;
+        try {
+            Object event = NEW_EVENT.invokeExact(factory);
+            BEGIN.invokeExact(event);
+            return event;
+        } catch (Throwable e) {
+            fail(e);
+            return null;
+        }
+    }
+
+    /**
+     * Ends an event and writes it to the running recordings, unless it was shorter than their threshold.
+     *
+     * @param event  the event returned by {@link #begin()}, ignored if <code>null</code>
+     * @param values the values of the fields of the event type, in the order they were defined
+     * @throws IllegalArgumentException if the number of values differs from the number of fields
+     */
+    public void commit(Object event, Object... values) {
+        if (event == null)
+            return;
+        if (values == null || values.length != fieldCount)
+            throw new IllegalArgumentException();
+        try {
+            for (int i = 0; i < values.length; i++)
+                SET.invokeExact(event, i, values[i]);
+            COMMIT.invokeExact(event);
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Stops recording the event type after an unexpected failure, so a broken recorder cannot slow down requests.
+     *
+     * @param e the failure
+     */
+    private void fail(Throwable e) {
+        if (broken)
+            return;
+        broken = true;
+        e.printStackTrace();
+    }
+}
@@ -0,0 +1,141 @@
+package com.iancaffey.steam.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram
+ * <p>
+ * A thread-safe histogram of non-negative values, such as latencies in nanoseconds, kept in the style of an HDR histogram.
+ * Values are counted in buckets which split every power of two into 16 linear steps, so percentiles are reported within about 6%
+ * of the recorded values while recording stays a few atomic increments regardless of how many values are recorded.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_BIT = 42;
+    private static final long MAX_VALUE = (1L << (MAX_BIT + 1)) - 1;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates a new empty histogram tracking values up to about 2<sup>43</sup>, over two hours in nanoseconds.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Records a value. Negative values are recorded as <code>0</code>, and values past the tracked range as the largest tracked value.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        value = Math.max(0, Math.min(MAX_VALUE, value));
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * The number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * The largest recorded value.
+     *
+     * @return <code>0</code> if no value was recorded, the largest value otherwise
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * The mean of the recorded values.
+     *
+     * @return <code>0</code> if no value was recorded, the mean value otherwise
+     */
+    public double getMean() {
+        long count = this.count.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * The value which a percentage of the recorded values are at or below.
+     *
+     * @param percentile the percentage of values, between <code>0</code> and <code>100</code>
+     * @return <code>0</code> if no value was recorded, the highest value equivalent to the bucket holding the percentile otherwise
+     * @throws IllegalArgumentException if <code>percentile &lt; 0</code> or <code>percentile &gt; 100</code>
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException();
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += counts.get(i);
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target)
+                return Math.min(highestEquivalentValue(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Creates a copy of the histogram, which does not change as values are recorded in the original.
+     *
+     * @return the copied histogram
+     */
+    public Histogram copy() {
+        Histogram copy = new Histogram();
+        for (int i = 0; i < BUCKETS; i++)
+            copy.counts.set(i, counts.get(i));
+        copy.count.set(count.get());
+        copy.sum.set(sum.get());
+        copy.max.set(max.get());
+        return copy;
+    }
+
+    /**
+     * Finds the bucket a value is counted in.
+     *
+     * @param value the value, between <code>0</code> and the largest tracked value
+     * @return the index of the bucket
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS * 2)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * 2 + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * The largest value counted in a bucket.
+     *
+     * @param index the index of the bucket
+     * @return the largest value of the bucket
+     */
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS * 2)
+            return index;
+        int shift = (index - SUB_BUCKETS * 2) / SUB_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS * 2) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.iancaffey.steam.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * MeteredInputStream
+ * <p>
+ * An input stream which counts the bytes read from the underlying stream and the time spent waiting for them.
+ * Wrapping a response body lets the time a reader spends parsing be told apart from the time it spends waiting on the network.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class MeteredInputStream extends FilterInputStream {
+    private long byteCount;
+    private long readTime;
+
+    /**
+     * Creates a new metered input stream.
+     *
+     * @param in the stream to read from
+     */
+    public MeteredInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * The number of bytes read so far.
+     *
+     * @return the number of bytes read
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * The time spent so far waiting on the underlying stream.
+     *
+     * @return the read time in nanoseconds
+     */
+    public long getReadTime() {
+        return readTime;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int read = super.read();
+        readTime += System.nanoTime() - start;
+        if (read != -1)
+            byteCount++;
+        return read;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int read = super.read(b, off, len);
+        readTime += System.nanoTime() - start;
+        if (read > 0)
+            byteCount += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long start = System.nanoTime();
+        long skipped = super.skip(n);
+        readTime += System.nanoTime() - start;
+        byteCount += skipped;
+        return skipped;
+    }
+}
@@ -0,0 +1,35 @@
+package com.iancaffey.steam.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams
+ * <p>
+ * A utility class containing methods that deal with byte streams.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class Streams {
+    private Streams() {
+
+    }
+
+    /**
+     * Reads all remaining bytes from the specified stream.
+     *
+     * @param in the stream to consume
+     * @return the bytes read
+     * @throws IOException if an error occurs while reading
+     */
+    public static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1)
+            out.write(buffer, 0, read);
+        return out.toByteArray();
+    }
+}
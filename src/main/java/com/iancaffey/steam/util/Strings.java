@@ -1,5 +1,8 @@
 package com.iancaffey.steam.util;
 
+import java.io.IOException;
+import java.io.Reader;
+
 /**
  * Strings
  * <p>
@@ -29,4 +32,20 @@ public class Strings {
             pos = string.indexOf(check, pos + 1);
         return pos;
     }
+
+    /**
+     * Reads all remaining characters from the specified reader.
+     *
+     * @param reader the reader to consume
+     * @return the characters read
+     * @throws IOException if an error occurs while reading
+     */
+    public static String read(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[4096];
+        int read;
+        while ((read = reader.read(buffer)) != -1)
+            builder.append(buffer, 0, read);
+        return builder.toString();
+    }
 }
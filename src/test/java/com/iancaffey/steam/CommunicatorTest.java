@@ -0,0 +1,140 @@
+package com.iancaffey.steam;
+
+import com.iancaffey.steam.net.CircuitBreaker;
+import com.iancaffey.steam.net.CircuitBreakers;
+import com.iancaffey.steam.net.Request;
+import com.iancaffey.steam.net.Response;
+import com.iancaffey.steam.net.ResponseCache;
+import com.iancaffey.steam.net.RetryPolicy;
+import com.iancaffey.steam.net.StubTransport;
+import com.iancaffey.steam.net.Transport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * CommunicatorTest
+ * <p>
+ * Tests the request pipeline of the communicator against a stub transport.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class CommunicatorTest {
+    private static final String URL = "http://localhost/test";
+    private final StubTransport stub = new StubTransport().route("/test", "[1]");
+    private Steam steam;
+
+    @After
+    public void close() {
+        if (steam != null)
+            steam.close();
+    }
+
+    @Test
+    public void coalescedCallerOutlivesLeaderDeadline() throws Exception {
+        stub.setLatency(500, 500, TimeUnit.MILLISECONDS);
+        Communicator communicator = communicator(stub);
+        CompletableFuture<int[]> leader = communicator.retrieveAsync(int[].class, new Request(URL, RequestMethod.GET).setTimeout(200, TimeUnit.MILLISECONDS), DataFormat.JSON);
+        CompletableFuture<int[]> joiner = communicator.retrieveAsync(int[].class, new Request(URL, RequestMethod.GET).setTimeout(5, TimeUnit.SECONDS), DataFormat.JSON);
+        try {
+            leader.get();
+            fail("The leader should miss its deadline");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DeadlineExceededException);
+        }
+        assertArrayEquals(new int[]{1}, joiner.get());
+        assertEquals(2, stub.getRequestCount());
+    }
+
+    @Test
+    public void retryWaitsForRetryAfter() throws Exception {
+        final AtomicInteger sends = new AtomicInteger();
+        Communicator communicator = communicator(new Transport() {
+            @Override
+            public Response send(Request request) throws IOException {
+                if (sends.incrementAndGet() == 1)
+                    return new Response(503, Collections.singletonMap("Retry-After", Collections.singletonList("1")), null);
+                return stub.send(request);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        communicator.setRetryPolicy(new RetryPolicy(2, 10, 5000, TimeUnit.MILLISECONDS));
+        long start = System.nanoTime();
+        assertEquals("[1]", communicator.retrieve(URL, RequestMethod.GET));
+        assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+        assertEquals(2, sends.get());
+    }
+
+    @Test
+    public void notModifiedAfterEvictionDownloadsAgain() throws Exception {
+        final List<Map<String, String>> headers = new CopyOnWriteArrayList<>();
+        Communicator communicator = communicator(new Transport() {
+            @Override
+            public Response send(Request request) throws IOException {
+                headers.add(new HashMap<>(request.getHeaders()));
+                if (request.getHeaders().get("If-None-Match") == null)
+                    return stub.send(request);
+                //The cached response is evicted while Steam confirms it is still current
+                steam.getCommunicator().getResponseCache().clear();
+                return new Response(304, null, new ByteArrayInputStream(new byte[0]));
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        ResponseCache cache = communicator.getResponseCache();
+        cache.setTimeToLive(Endpoint.OTHER, 50, TimeUnit.MILLISECONDS);
+        cache.put(new Request(URL, RequestMethod.GET), "[0]".getBytes(StandardCharsets.UTF_8), "\"v0\"", null);
+        Thread.sleep(100);
+        assertEquals("[1]", communicator.retrieve(URL, RequestMethod.GET));
+        assertEquals(2, headers.size());
+        assertEquals("\"v0\"", headers.get(0).get("If-None-Match"));
+        assertNull(headers.get(1).get("If-None-Match"));
+    }
+
+    @Test
+    public void refusedProbeIsReleased() throws Exception {
+        Communicator communicator = communicator(stub);
+        communicator.setRetryPolicy(RetryPolicy.NONE);
+        CircuitBreakers breakers = new CircuitBreakers(2, 1, 0.5, 10, 50, 1, TimeUnit.MILLISECONDS);
+        communicator.setCircuitBreakers(breakers);
+        Request request = new Request(URL, RequestMethod.GET);
+        stub.setFailureRate(1, 503);
+        assertNull(communicator.retrieve(URL, RequestMethod.GET));
+        stub.setFailureRate(0, 503);
+        assertEquals(CircuitBreaker.State.OPEN, breakers.getEndpointBreaker(request.getEndpoint()).getState());
+        Thread.sleep(100);
+        //Another request holds the only probe of the host, so the endpoint probe taken for this one must be given back
+        assertTrue(breakers.getHostBreaker(request.getHost()).allow());
+        assertNull(communicator.retrieve(URL, RequestMethod.GET));
+        assertEquals(1, stub.getRequestCount());
+        breakers.getHostBreaker(request.getHost()).record(false, 0);
+        assertEquals("[1]", communicator.retrieve(URL, RequestMethod.GET));
+        assertEquals(2, stub.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, breakers.getEndpointBreaker(request.getEndpoint()).getState());
+    }
+
+    private Communicator communicator(Transport transport) {
+        steam = new Steam(new KeyPool("key"), 1, transport, 4);
+        return steam.getCommunicator();
+    }
+}
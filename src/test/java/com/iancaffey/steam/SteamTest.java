@@ -0,0 +1,73 @@
+package com.iancaffey.steam;
+
+import com.iancaffey.steam.net.Request;
+import com.iancaffey.steam.net.Response;
+import com.iancaffey.steam.net.StubTransport;
+import com.iancaffey.steam.net.Transport;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * SteamTest
+ * <p>
+ * Tests the Steam WebAPI wrapper against a stub transport.
+ *
+ * @author Ian Caffey
+ * @since 1.0
+ */
+public class SteamTest {
+    private Steam steam;
+
+    @After
+    public void close() {
+        if (steam != null)
+            steam.close();
+    }
+
+    @Test
+    public void userProfilesAreChunkedOrderedAndDistinct() throws Exception {
+        //Every chunk is answered with all 150 users in reverse order, some of them twice
+        StringBuilder players = new StringBuilder();
+        for (int userId = 150; userId >= 1; userId--)
+            players.append(players.length() == 0 ? "" : ",").append("{\"steamid\":\"").append(userId).append("\"}");
+        players.append(",{\"steamid\":\"7\"},{\"steamid\":\"120\"}");
+        final StubTransport stub = new StubTransport().route(Method.GET_USER_PROFILES, "{\"response\":{\"players\":[" + players + "]}}");
+        final List<String> urls = new CopyOnWriteArrayList<>();
+        steam = new Steam(new KeyPool("key"), 1, new Transport() {
+            @Override
+            public Response send(Request request) throws IOException {
+                urls.add(request.getUrl());
+                return stub.send(request);
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 4);
+        List<Long> expected = new ArrayList<>();
+        long[] userIds = new long[152];
+        for (int i = 0; i < 150; i++) {
+            userIds[i] = i + 1;
+            expected.add(i + 1L);
+        }
+        userIds[150] = 7;
+        userIds[151] = 120;
+        UserProfile[] profiles = steam.getUserProfilesAsync(userIds).get();
+        assertEquals(2, urls.size());
+        List<Integer> chunkSizes = new ArrayList<>();
+        for (String url : urls)
+            chunkSizes.add(url.replaceAll(".*steamids=([^&]*).*", "$1").split(",").length);
+        assertTrue(chunkSizes.contains(100) && chunkSizes.contains(52));
+        List<Long> actual = new ArrayList<>();
+        for (UserProfile profile : profiles)
+            actual.add(profile.getUserId());
+        assertEquals(expected, actual);
+    }
+}